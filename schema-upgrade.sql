@@ -0,0 +1,148 @@
+-- 已有数据库的升级脚本
+-- schema.sql 只在表不存在时建表，对已经按初始版本建好的数据库不会生效；升级时执行一次本脚本:
+--   mysql -u root -p < schema-upgrade.sql
+-- 生成列需要 MySQL 8.0.21+ (JSON_VALUE)，新增存储生成列会重建 offers 表，大表请在低峰期执行
+-- 本脚本不可重复执行，执行前请备份数据库
+
+USE offer_show;
+
+-- Offer信息表：由薪资结构生成的薪资列，以及排序、范围查询和保留清理使用的索引
+ALTER TABLE offers
+    ADD COLUMN base_salary DECIMAL(12,2) GENERATED ALWAYS AS (JSON_VALUE(salary_structure, '$.base' RETURNING DECIMAL(12,2) DEFAULT 0 ON EMPTY DEFAULT 0 ON ERROR)) STORED COMMENT '基本工资(由薪资结构生成)' AFTER salary_structure,
+    ADD COLUMN bonus DECIMAL(12,2) GENERATED ALWAYS AS (JSON_VALUE(salary_structure, '$.bonus' RETURNING DECIMAL(12,2) DEFAULT 0 ON EMPTY DEFAULT 0 ON ERROR)) STORED COMMENT '奖金(由薪资结构生成)' AFTER base_salary,
+    ADD COLUMN stock DECIMAL(12,2) GENERATED ALWAYS AS (JSON_VALUE(salary_structure, '$.stock' RETURNING DECIMAL(12,2) DEFAULT 0 ON EMPTY DEFAULT 0 ON ERROR)) STORED COMMENT '股票(由薪资结构生成)' AFTER bonus,
+    ADD COLUMN total_comp DECIMAL(14,2) GENERATED ALWAYS AS (base_salary + bonus + stock) STORED COMMENT '总薪资(由薪资结构生成)' AFTER stock,
+    ADD INDEX idx_deleted_created_id (is_deleted, created_at, id),
+    ADD INDEX idx_deleted_base_salary (is_deleted, base_salary),
+    ADD INDEX idx_deleted_total_comp (is_deleted, total_comp),
+    ADD INDEX idx_deleted_updated_id (is_deleted, updated_at, id),
+    ADD INDEX idx_updated_id (updated_at, id);
+
+-- 统计信息表：可合并的部分聚合列和分位数草图
+ALTER TABLE statistics
+    ADD COLUMN value_sum DECIMAL(20,2) NOT NULL DEFAULT 0 COMMENT '有效薪资总和(可合并的部分聚合)' AFTER count,
+    ADD COLUMN value_count INT NOT NULL DEFAULT 0 COMMENT '有效薪资数量(可合并的部分聚合)' AFTER value_sum,
+    ADD COLUMN salary_sketch BLOB NULL COMMENT '薪资分位数草图(t-digest序列化，可跨日期合并)' AFTER value_count;
+
+-- 统计信息表：删除同一统计类型、维度、维度值和日期的重复行(保留ID最大的一行)，再加唯一键
+DELETE older
+FROM statistics older
+         JOIN statistics newer
+              ON newer.statistic_type = older.statistic_type
+                  AND newer.dimension = older.dimension
+                  AND newer.dimension_value = older.dimension_value
+                  AND newer.statistic_date = older.statistic_date
+                  AND newer.id > older.id;
+
+-- 唯一键的前缀覆盖原来的 (statistic_type, dimension) 索引
+ALTER TABLE statistics
+    ADD UNIQUE KEY uk_statistic_type_dimension_value_date (statistic_type, dimension, dimension_value, statistic_date),
+    DROP INDEX idx_statistic_type_dimension;
+
+-- 旧版本留下的部分聚合列为0，执行后可通过回填接口重算历史统计
+
+-- 导出任务表：领取租约和失败原因
+ALTER TABLE export_tasks
+    ADD COLUMN owner VARCHAR(100) NULL COMMENT '处理任务的节点' AFTER file_url,
+    ADD COLUMN lease_until DATETIME(3) NULL COMMENT '租约到期时间，处理节点定期续约' AFTER owner,
+    ADD COLUMN attempts INT NOT NULL DEFAULT 0 COMMENT '领取次数，每次领取时递增，同时作为防护令牌' AFTER lease_until,
+    ADD COLUMN error_message VARCHAR(500) COMMENT '错误信息' AFTER attempts,
+    ADD INDEX idx_status_lease_until (status, lease_until),
+    ADD INDEX idx_status_updated_at (status, updated_at);
+
+-- 旧版本中断的处理中任务没有租约，设置为已过期以便重新领取
+UPDATE export_tasks
+SET lease_until = NOW(3)
+WHERE status = 'PROCESSING'
+  AND lease_until IS NULL;
+
+-- 薪资多维立方体表 (按天、公司、职位、城市、工作年限区间预聚合，查询时在内存中任意组合上卷)
+CREATE TABLE IF NOT EXISTS salary_cube_cells (
+                                                 cell_date DATE NOT NULL COMMENT '日期(Offer创建日期)',
+                                                 company_name VARCHAR(100) NOT NULL COMMENT '公司名称',
+    position VARCHAR(100) NOT NULL COMMENT '职位名称',
+    city VARCHAR(50) NOT NULL COMMENT '工作城市',
+    work_year_band VARCHAR(20) NOT NULL COMMENT '工作年限区间',
+    sample_count INT NOT NULL DEFAULT 0 COMMENT '样本数量',
+    value_sum_cents BIGINT NOT NULL DEFAULT 0 COMMENT '有效薪资总和(分)',
+    value_count INT NOT NULL DEFAULT 0 COMMENT '有效薪资数量',
+    min_cents BIGINT NULL COMMENT '最低有效薪资(分)',
+    max_cents BIGINT NULL COMMENT '最高有效薪资(分)',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (cell_date, company_name, position, city, work_year_band)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='薪资多维立方体表';
+
+-- 统计数据版本表 (单行，统计任务完成时递增，各实例据此失效统计查询缓存)
+CREATE TABLE IF NOT EXISTS statistics_generation (
+                                                     id TINYINT NOT NULL COMMENT '主键ID(固定为1)',
+                                                     generation BIGINT NOT NULL DEFAULT 0 COMMENT '统计数据版本号',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (id)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='统计数据版本表';
+
+-- 薪资实时聚合表 (按天分桶，随Offer写操作增量维护)
+CREATE TABLE IF NOT EXISTS salary_running_statistics (
+                                                         bucket_date DATE NOT NULL COMMENT '分桶日期(Offer创建日期)',
+                                                         dimension VARCHAR(50) NOT NULL COMMENT '统计维度(COMPANY/POSITION/CITY，总体由城市维度汇总)',
+    dimension_value VARCHAR(100) NOT NULL COMMENT '维度值',
+    sample_count INT NOT NULL DEFAULT 0 COMMENT '样本数量',
+    value_sum_cents BIGINT NOT NULL DEFAULT 0 COMMENT '有效薪资总和(分)',
+    value_count INT NOT NULL DEFAULT 0 COMMENT '有效薪资数量',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    PRIMARY KEY (bucket_date, dimension, dimension_value)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='薪资实时聚合表';
+
+-- 薪资实时聚合初始化进度表 (只有一行，记录从历史数据初始化分桶的进度，中断后从下一天继续)
+CREATE TABLE IF NOT EXISTS running_statistics_seed (
+                                                       id TINYINT NOT NULL COMMENT '主键ID(固定为1)',
+                                                       seed_from DATE NOT NULL COMMENT '初始化开始日期(最早的Offer创建日期)',
+    seed_until DATE NOT NULL COMMENT '初始化结束日期(首次开始初始化的日期，之后的分桶由写操作维护)',
+    seeded_through DATE NULL COMMENT '已完成初始化的最后日期',
+    completed_at TIMESTAMP NULL COMMENT '完成时间',
+    PRIMARY KEY (id)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='薪资实时聚合初始化进度表';
+
+-- 任务执行租约表 (多实例部署时保证同一任务的每次执行只由一个节点完成)
+CREATE TABLE IF NOT EXISTS job_executions (
+                                              id BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+                                              job_name VARCHAR(100) NOT NULL COMMENT '任务名称',
+    occurrence VARCHAR(100) NOT NULL COMMENT '执行批次(如统计日期、回填分区)',
+    owner VARCHAR(100) NOT NULL COMMENT '持有租约的节点',
+    fencing_token BIGINT NOT NULL DEFAULT 1 COMMENT '防护令牌，每次重新获取租约时递增',
+    status VARCHAR(20) NOT NULL COMMENT '执行状态(RUNNING/COMPLETED/FAILED)',
+    lease_until DATETIME(3) NOT NULL COMMENT '租约到期时间',
+    error_message VARCHAR(500) COMMENT '错误信息',
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '开始时间',
+    finished_at TIMESTAMP NULL COMMENT '结束时间',
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_job_name_occurrence (job_name, occurrence),
+    INDEX idx_status_finished_at (status, finished_at)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='任务执行租约表';
+
+-- 统计回填任务表
+CREATE TABLE IF NOT EXISTS backfill_tasks (
+                                              id BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+                                              start_date DATE NOT NULL COMMENT '开始日期',
+    end_date DATE NOT NULL COMMENT '结束日期',
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' COMMENT '任务状态(PENDING/RUNNING/COMPLETED/FAILED)',
+    error_message VARCHAR(500) COMMENT '错误信息',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    completed_at TIMESTAMP NULL COMMENT '完成时间',
+    PRIMARY KEY (id)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='统计回填任务表';
+
+-- 统计回填分区表 (每个分区为一天)
+CREATE TABLE IF NOT EXISTS backfill_partitions (
+                                                   id BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+                                                   task_id BIGINT NOT NULL COMMENT '回填任务ID',
+                                                   partition_date DATE NOT NULL COMMENT '分区日期',
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' COMMENT '分区状态(PENDING/RUNNING/COMPLETED/FAILED)',
+    attempts INT NOT NULL DEFAULT 0 COMMENT '执行次数',
+    error_message VARCHAR(500) COMMENT '错误信息',
+    started_at TIMESTAMP NULL COMMENT '开始时间',
+    finished_at TIMESTAMP NULL COMMENT '结束时间',
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_task_partition_date (task_id, partition_date),
+    INDEX idx_task_status (task_id, status)
+    ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='统计回填分区表';
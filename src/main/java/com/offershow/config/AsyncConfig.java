@@ -2,6 +2,7 @@
 
 package com.offershow.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -37,4 +38,21 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 统计回填线程池
+     * 线程数固定且远小于数据库连接池大小，避免回填占满连接影响在线请求
+     */
+    @Bean("backfillExecutor")
+    public Executor backfillExecutor(@Value("${app.backfill.parallelism:2}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        // 分区在队列中排队等待，不额外创建线程
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("backfill-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
 }
\ No newline at end of file
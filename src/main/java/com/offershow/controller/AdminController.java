@@ -0,0 +1,47 @@
+package com.offershow.controller;
+
+import com.offershow.model.dto.BackfillRequestDTO;
+import com.offershow.model.vo.BackfillTaskVO;
+import com.offershow.service.BackfillService;
+import com.offershow.util.ResponseResult;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 管理控制器
+ */
+@Api(tags = "管理")
+@RestController
+@Validated
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final BackfillService backfillService;
+
+    @ApiOperation("创建统计回填任务")
+    @PostMapping("/v1/admin/statistics/backfill")
+    public ResponseResult<BackfillTaskVO> createBackfillTask(@RequestBody @Validated BackfillRequestDTO requestDTO) {
+        BackfillTaskVO taskVO = backfillService.createBackfillTask(requestDTO);
+        return ResponseResult.success(taskVO);
+    }
+
+    @ApiOperation("获取统计回填任务进度")
+    @GetMapping("/v1/admin/statistics/backfill/{taskId}")
+    public ResponseResult<BackfillTaskVO> getBackfillTask(
+            @ApiParam("任务ID") @PathVariable("taskId") Long taskId) {
+        BackfillTaskVO taskVO = backfillService.getBackfillTask(taskId);
+        return ResponseResult.success(taskVO);
+    }
+
+    @ApiOperation("继续执行统计回填任务")
+    @PostMapping("/v1/admin/statistics/backfill/{taskId}/resume")
+    public ResponseResult<BackfillTaskVO> resumeBackfillTask(
+            @ApiParam("任务ID") @PathVariable("taskId") Long taskId) {
+        BackfillTaskVO taskVO = backfillService.resumeBackfillTask(taskId);
+        return ResponseResult.success(taskVO);
+    }
+}
\ No newline at end of file
@@ -30,20 +30,7 @@ public class BatchController {
     @ApiOperation("批量创建Offer")
     @PostMapping
     public ResponseResult<BatchResultVO<OfferVO>> batchCreateOffers(@RequestBody @Validated BatchCreateDTO batchCreateDTO) {
-        List<OfferVO> successRecords = offerService.batchCreateOffers(batchCreateDTO.getOffers());
-
-        // 构建返回结果
-        int totalCount = batchCreateDTO.getOffers().size();
-        int successCount = successRecords.size();
-        int failedCount = totalCount - successCount;
-
-        BatchResultVO<OfferVO> result = BatchResultVO.<OfferVO>builder()
-                .successCount(successCount)
-                .failedCount(failedCount)
-                .successRecords(successRecords)
-                .failedRecords(new ArrayList<>()) // 简化处理，不返回失败详情
-                .build();
-
+        BatchResultVO<OfferVO> result = offerService.batchCreateOffers(batchCreateDTO.getOffers());
         return ResponseResult.success(result);
     }
 
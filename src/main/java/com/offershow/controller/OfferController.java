@@ -73,8 +73,13 @@ public class OfferController {
     public ResponseResult<PageVO<OfferVO>> searchOffers(
             @ApiParam("搜索关键词") @RequestParam(value = "keyword", required = false, defaultValue = "") String keyword,
             @ApiParam("页码") @RequestParam(value = "page", required = false, defaultValue = "1") @Min(1) Integer page,
-            @ApiParam("每页大小") @RequestParam(value = "size", required = false, defaultValue = "10") @Min(1) @Max(100) Integer size) {
-        PageVO<OfferVO> pageResult = offerService.searchOffers(keyword, page, size);
+            @ApiParam("每页大小") @RequestParam(value = "size", required = false, defaultValue = "10") @Min(1) @Max(100) Integer size,
+            @ApiParam("分页游标 (传空字符串获取第一页，传入后按游标分页并忽略页码)") @RequestParam(value = "cursor", required = false) String cursor,
+            @ApiParam("是否跳过总数统计 (无限滚动场景使用)") @RequestParam(value = "skipTotal", required = false, defaultValue = "false") Boolean skipTotal) {
+        // 传入游标时使用 keyset 分页，避免深分页时扫描并丢弃前面的记录
+        PageVO<OfferVO> pageResult = cursor != null
+                ? offerService.searchOffersByCursor(keyword, cursor, size, skipTotal)
+                : offerService.searchOffers(keyword, page, size, skipTotal);
         return ResponseResult.success(pageResult);
     }
 }
\ No newline at end of file
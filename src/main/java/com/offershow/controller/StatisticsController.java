@@ -1,6 +1,8 @@
 package com.offershow.controller;
 
+import com.offershow.model.dto.CubeQueryDTO;
 import com.offershow.model.dto.StatisticsQueryDTO;
+import com.offershow.model.vo.SalaryCubeVO;
 import com.offershow.model.vo.StatisticsVO;
 import com.offershow.service.StatisticsService;
 import com.offershow.util.ResponseResult;
@@ -14,6 +16,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * 统计信息控制器
  */
@@ -61,4 +65,32 @@ public class StatisticsController {
         StatisticsVO statisticsVO = statisticsService.getTrendStatistics(queryDTO);
         return ResponseResult.success(statisticsVO);
     }
+
+    @ApiOperation("薪资多维立方体查询")
+    @GetMapping("/cube")
+    public ResponseResult<SalaryCubeVO> getCubeStatistics(
+            @ApiParam("分组维度 (company/position/city/workYearBand/month)") @RequestParam(value = "groupBy", required = false) List<String> groupBy,
+            @ApiParam("公司名称") @RequestParam(value = "company", required = false) List<String> companies,
+            @ApiParam("职位名称") @RequestParam(value = "position", required = false) List<String> positions,
+            @ApiParam("工作城市") @RequestParam(value = "city", required = false) List<String> cities,
+            @ApiParam("工作年限区间 (0-1/1-3/3-5/5-10/10+)") @RequestParam(value = "workYearBand", required = false) List<String> workYearBands,
+            @ApiParam("开始月份 (yyyy-MM)") @RequestParam(value = "startMonth", required = false) String startMonth,
+            @ApiParam("结束月份 (yyyy-MM)") @RequestParam(value = "endMonth", required = false) String endMonth,
+            @ApiParam("最小样本数") @RequestParam(value = "minCount", required = false) Integer minCount,
+            @ApiParam("最多返回的分组数") @RequestParam(value = "limit", required = false) Integer limit) {
+
+        CubeQueryDTO queryDTO = new CubeQueryDTO();
+        queryDTO.setGroupBy(groupBy);
+        queryDTO.setCompanies(companies);
+        queryDTO.setPositions(positions);
+        queryDTO.setCities(cities);
+        queryDTO.setWorkYearBands(workYearBands);
+        queryDTO.setStartMonth(startMonth);
+        queryDTO.setEndMonth(endMonth);
+        queryDTO.setMinCount(minCount);
+        queryDTO.setLimit(limit);
+
+        SalaryCubeVO cubeVO = statisticsService.getCubeStatistics(queryDTO);
+        return ResponseResult.success(cubeVO);
+    }
 }
\ No newline at end of file
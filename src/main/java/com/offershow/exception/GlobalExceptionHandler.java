@@ -1,8 +1,10 @@
 package com.offershow.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.offershow.util.ResponseResult;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -46,6 +48,16 @@ public class GlobalExceptionHandler {
         return ResponseResult.error(404, e.getMessage());
     }
 
+    /**
+     * 处理服务暂不可用异常
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseResult<Object> handleServiceUnavailableException(ServiceUnavailableException e) {
+        log.warn("Service unavailable: {}", e.getMessage());
+        return ResponseResult.error(503, e.getMessage());
+    }
+
     /**
      * 处理参数校验异常
      */
@@ -66,6 +78,20 @@ public class GlobalExceptionHandler {
         return handleBindingResult(e.getBindingResult());
     }
 
+    /**
+     * 处理请求体解析异常 (JSON格式不正确、字段类型不匹配等)
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseResult<Object> handleHttpMessageNotReadableException(HttpMessageNotReadableException e) {
+        log.error("Request body not readable: {}", e.getMessage());
+        Throwable cause = e.getMostSpecificCause();
+        String detail = cause instanceof JsonProcessingException
+                ? ((JsonProcessingException) cause).getOriginalMessage()
+                : cause.getMessage();
+        return ResponseResult.error(400, "请求体格式不正确: " + detail);
+    }
+
     /**
      * 处理约束违反异常
      */
@@ -0,0 +1,16 @@
+package com.offershow.exception;
+
+
+/**
+ * 服务暂不可用异常 (如内存数据尚未加载完成)
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.offershow.model.dto;
+
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * 统计回填请求 DTO
+ */
+@Data
+public class BackfillRequestDTO {
+    /**
+     * 开始日期 (yyyy-MM-dd)
+     */
+    @NotBlank(message = "开始日期不能为空")
+    private String startDate;
+
+    /**
+     * 结束日期 (yyyy-MM-dd)
+     */
+    @NotBlank(message = "结束日期不能为空")
+    private String endDate;
+}
\ No newline at end of file
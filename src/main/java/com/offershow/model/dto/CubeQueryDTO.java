@@ -0,0 +1,56 @@
+package com.offershow.model.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 薪资多维立方体查询 DTO
+ */
+@Data
+public class CubeQueryDTO {
+    /**
+     * 分组维度 (company/position/city/workYearBand/month)
+     */
+    private List<String> groupBy;
+
+    /**
+     * 公司名称过滤
+     */
+    private List<String> companies;
+
+    /**
+     * 职位名称过滤
+     */
+    private List<String> positions;
+
+    /**
+     * 工作城市过滤
+     */
+    private List<String> cities;
+
+    /**
+     * 工作年限区间过滤 (0-1/1-3/3-5/5-10/10+)
+     */
+    private List<String> workYearBands;
+
+    /**
+     * 开始月份 (yyyy-MM)
+     */
+    private String startMonth;
+
+    /**
+     * 结束月份 (yyyy-MM)
+     */
+    private String endMonth;
+
+    /**
+     * 最小样本数，样本数不足的分组不返回
+     */
+    private Integer minCount;
+
+    /**
+     * 最多返回的分组数，按样本数降序
+     */
+    private Integer limit;
+}
\ No newline at end of file
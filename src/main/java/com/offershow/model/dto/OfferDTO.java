@@ -1,5 +1,6 @@
 package com.offershow.model.dto;
 
+import com.offershow.model.entity.SalaryStructure;
 import lombok.Data;
 import org.hibernate.validator.constraints.Length;
 
@@ -38,7 +39,7 @@ public class OfferDTO {
      * 薪资结构 (JSON对象)
      */
     @NotNull(message = "薪资结构不能为空")
-    private Object salaryStructure;
+    private SalaryStructure salaryStructure;
 
     /**
      * 工作年限
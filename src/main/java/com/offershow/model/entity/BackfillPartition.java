@@ -0,0 +1,58 @@
+package com.offershow.model.entity;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 统计回填分区实体类
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillPartition {
+    /**
+     * 主键ID
+     */
+    private Long id;
+
+    /**
+     * 回填任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 分区日期
+     */
+    private LocalDate partitionDate;
+
+    /**
+     * 分区状态 (PENDING/RUNNING/COMPLETED/FAILED)
+     */
+    private String status;
+
+    /**
+     * 执行次数
+     */
+    private Integer attempts;
+
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedAt;
+}
\ No newline at end of file
@@ -40,6 +40,26 @@ public class ExportTask {
      */
     private String fileUrl;
 
+    /**
+     * 处理任务的节点
+     */
+    private String owner;
+
+    /**
+     * 租约到期时间
+     */
+    private LocalDateTime leaseUntil;
+
+    /**
+     * 领取次数 (防护令牌)
+     */
+    private Integer attempts;
+
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,67 @@
+package com.offershow.model.entity;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 任务执行租约实体类
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobExecution {
+    /**
+     * 主键ID
+     */
+    private Long id;
+
+    /**
+     * 任务名称
+     */
+    private String jobName;
+
+    /**
+     * 执行批次 (如统计日期、回填分区)
+     */
+    private String occurrence;
+
+    /**
+     * 持有租约的节点
+     */
+    private String owner;
+
+    /**
+     * 防护令牌，每次重新获取租约时递增
+     */
+    private Long fencingToken;
+
+    /**
+     * 执行状态 (RUNNING/COMPLETED/FAILED)
+     */
+    private String status;
+
+    /**
+     * 租约到期时间
+     */
+    private LocalDateTime leaseUntil;
+
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startedAt;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishedAt;
+}
\ No newline at end of file
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
@@ -36,9 +37,29 @@ public class Offer {
     private String city;
 
     /**
-     * 薪资结构 (JSON格式)
+     * 薪资结构
      */
-    private String salaryStructure;
+    private SalaryStructure salaryStructure;
+
+    /**
+     * 基本工资 (由薪资结构生成，只读)
+     */
+    private BigDecimal baseSalary;
+
+    /**
+     * 奖金 (由薪资结构生成，只读)
+     */
+    private BigDecimal bonus;
+
+    /**
+     * 股票 (由薪资结构生成，只读)
+     */
+    private BigDecimal stock;
+
+    /**
+     * 总薪资 (基本工资 + 奖金 + 股票，由薪资结构生成，只读)
+     */
+    private BigDecimal totalComp;
 
     /**
      * 工作年限
@@ -0,0 +1,41 @@
+package com.offershow.model.entity;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Offer 薪资统计读模型
+ * 只包含统计任务需要的聚合字段，不读取薪资结构JSON和工作描述等大字段
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfferSalaryFact {
+    /**
+     * 公司名称
+     */
+    private String companyName;
+
+    /**
+     * 职位名称
+     */
+    private String position;
+
+    /**
+     * 工作城市
+     */
+    private String city;
+
+    /**
+     * 工作年限
+     */
+    private int workYears;
+
+    /**
+     * 总薪资 (分)
+     */
+    private long totalCents;
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.offershow.model.entity;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 薪资实时聚合实体类
+ * 按 (分桶日期, 维度, 维度值) 保存可累加的聚合值，写入时作为增量使用
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunningStatistics {
+    /**
+     * 分桶日期 (Offer创建日期)
+     */
+    private LocalDate bucketDate;
+
+    /**
+     * 统计维度 (COMPANY/POSITION/CITY)
+     */
+    private String dimension;
+
+    /**
+     * 维度值
+     */
+    private String dimensionValue;
+
+    /**
+     * 样本数量
+     */
+    private int sampleCount;
+
+    /**
+     * 有效薪资总和 (分)
+     */
+    private long valueSumCents;
+
+    /**
+     * 有效薪资数量
+     */
+    private int valueCount;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
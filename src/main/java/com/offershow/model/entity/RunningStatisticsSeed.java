@@ -0,0 +1,38 @@
+package com.offershow.model.entity;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 薪资实时聚合初始化进度实体类
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RunningStatisticsSeed {
+    /**
+     * 初始化开始日期 (最早的Offer创建日期)
+     */
+    private LocalDate seedFrom;
+
+    /**
+     * 初始化结束日期 (首次开始初始化的日期，之后的分桶完全由写操作维护)
+     */
+    private LocalDate seedUntil;
+
+    /**
+     * 已完成初始化的最后日期，尚未完成任何一天时为null
+     */
+    private LocalDate seededThrough;
+
+    /**
+     * 完成时间，未完成时为null
+     */
+    private LocalDateTime completedAt;
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.offershow.model.entity;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 薪资多维立方体单元实体类
+ * 按 (日期, 公司, 职位, 城市, 工作年限区间) 保存可合并的聚合值
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryCubeCell {
+    /**
+     * 日期 (Offer创建日期)
+     */
+    private LocalDate cellDate;
+
+    /**
+     * 公司名称
+     */
+    private String companyName;
+
+    /**
+     * 职位名称
+     */
+    private String position;
+
+    /**
+     * 工作城市
+     */
+    private String city;
+
+    /**
+     * 工作年限区间
+     */
+    private String workYearBand;
+
+    /**
+     * 样本数量
+     */
+    private Integer sampleCount;
+
+    /**
+     * 有效薪资总和 (分)
+     */
+    private Long valueSumCents;
+
+    /**
+     * 有效薪资数量
+     */
+    private Integer valueCount;
+
+    /**
+     * 最低有效薪资 (分)
+     */
+    private Long minCents;
+
+    /**
+     * 最高有效薪资 (分)
+     */
+    private Long maxCents;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
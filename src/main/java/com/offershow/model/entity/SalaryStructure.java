@@ -0,0 +1,110 @@
+package com.offershow.model.entity;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.offershow.util.SalaryParser;
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 薪资结构
+ * 金额以分为单位存为基本类型，JSON 格式为 {"base": 基本工资, "bonus": 奖金, "stock": 股票, ...}，
+ * 其他顶层字段按原始JSON文本保留。读写均通过 {@link SalaryParser} 流式完成，不经过中间 Map
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonSerialize(using = SalaryStructure.Serializer.class)
+@JsonDeserialize(using = SalaryStructure.Deserializer.class)
+public class SalaryStructure {
+    /**
+     * 基本工资 (分)
+     */
+    private long baseCents;
+
+    /**
+     * 奖金 (分)
+     */
+    private long bonusCents;
+
+    /**
+     * 股票 (分)
+     */
+    private long stockCents;
+
+    /**
+     * base、bonus、stock 以外的顶层字段 -> 原始JSON文本，没有时为null
+     * 数据库中不是数字的历史金额也按原始值保存在这里
+     */
+    private Map<String, String> extraFields;
+
+    /**
+     * 总薪资 (分)
+     *
+     * @return 基本工资 + 奖金 + 股票
+     */
+    public long getTotalCents() {
+        return baseCents + bonusCents + stockCents;
+    }
+
+    public BigDecimal getBaseSalary() {
+        return BigDecimal.valueOf(baseCents, 2);
+    }
+
+    public BigDecimal getBonus() {
+        return BigDecimal.valueOf(bonusCents, 2);
+    }
+
+    public BigDecimal getStock() {
+        return BigDecimal.valueOf(stockCents, 2);
+    }
+
+    public BigDecimal getTotalComp() {
+        return BigDecimal.valueOf(getTotalCents(), 2);
+    }
+
+    /**
+     * 接口序列化
+     */
+    public static class Serializer extends StdSerializer<SalaryStructure> {
+        public Serializer() {
+            super(SalaryStructure.class);
+        }
+
+        @Override
+        public void serialize(SalaryStructure value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            SalaryParser.write(value, generator);
+        }
+    }
+
+    /**
+     * 接口反序列化，只接受JSON对象，金额必须是数字或数字字符串
+     */
+    public static class Deserializer extends StdDeserializer<SalaryStructure> {
+        public Deserializer() {
+            super(SalaryStructure.class);
+        }
+
+        @Override
+        public SalaryStructure deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (!parser.hasToken(JsonToken.START_OBJECT)) {
+                return (SalaryStructure) context.handleUnexpectedToken(SalaryStructure.class, parser);
+            }
+            return SalaryParser.read(parser, true);
+        }
+    }
+}
@@ -47,6 +47,21 @@ public class Statistics {
      */
     private Integer count;
 
+    /**
+     * 有效薪资总和，与有效薪资数量一起构成可合并的部分聚合
+     */
+    private BigDecimal valueSum;
+
+    /**
+     * 有效薪资数量
+     */
+    private Integer valueCount;
+
+    /**
+     * 薪资分位数草图 (t-digest 序列化)
+     */
+    private byte[] salarySketch;
+
     /**
      * 统计日期
      */
@@ -0,0 +1,68 @@
+package com.offershow.model.vo;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 统计回填任务视图对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BackfillTaskVO {
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 开始日期
+     */
+    private LocalDate startDate;
+
+    /**
+     * 结束日期
+     */
+    private LocalDate endDate;
+
+    /**
+     * 任务状态
+     */
+    private String status;
+
+    /**
+     * 分区总数
+     */
+    private int totalPartitions;
+
+    /**
+     * 已完成分区数
+     */
+    private int completedPartitions;
+
+    /**
+     * 失败分区数
+     */
+    private int failedPartitions;
+
+    /**
+     * 错误信息
+     */
+    private String errorMessage;
+
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 完成时间
+     */
+    private LocalDateTime completedAt;
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.offershow.model.vo;
 
+import com.offershow.model.entity.SalaryStructure;
 import lombok.Data;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -36,9 +37,9 @@ public class OfferVO {
     private String city;
 
     /**
-     * 薪资结构 (JSON格式)
+     * 薪资结构
      */
-    private Object salaryStructure;
+    private SalaryStructure salaryStructure;
 
     /**
      * 工作年限
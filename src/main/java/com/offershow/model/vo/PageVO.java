@@ -20,6 +20,11 @@ public class PageVO<T> {
      */
     private long total;
 
+    /**
+     * 总记录数是否为估算值
+     */
+    private boolean totalEstimated;
+
     /**
      * 总页数
      */
@@ -39,4 +44,9 @@ public class PageVO<T> {
      * 记录列表
      */
     private List<T> records;
+
+    /**
+     * 下一页游标 (游标分页模式返回，没有更多数据时为null)
+     */
+    private String nextCursor;
 }
@@ -0,0 +1,68 @@
+package com.offershow.model.vo;
+
+import lombok.Data;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 薪资多维立方体查询结果视图对象
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryCubeVO {
+    /**
+     * 分组维度
+     */
+    private List<String> groupBy;
+
+    /**
+     * 分组总数 (截断前)
+     */
+    private int totalGroups;
+
+    /**
+     * 分组结果，按样本数降序
+     */
+    private List<CubeRow> rows;
+
+    /**
+     * 分组结果
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CubeRow {
+        /**
+         * 分组维度 -> 维度值
+         */
+        private Map<String, String> dimensions;
+
+        /**
+         * 样本数量
+         */
+        private Integer count;
+
+        /**
+         * 平均薪资
+         */
+        private BigDecimal avgSalary;
+
+        /**
+         * 最低薪资
+         */
+        private BigDecimal minSalary;
+
+        /**
+         * 最高薪资
+         */
+        private BigDecimal maxSalary;
+    }
+}
\ No newline at end of file
@@ -69,6 +69,26 @@ public class StatisticsVO {
          * 数量
          */
         private int count;
+
+        /**
+         * 总薪资25分位数
+         */
+        private BigDecimal p25Salary;
+
+        /**
+         * 总薪资中位数
+         */
+        private BigDecimal p50Salary;
+
+        /**
+         * 总薪资75分位数
+         */
+        private BigDecimal p75Salary;
+
+        /**
+         * 总薪资90分位数
+         */
+        private BigDecimal p90Salary;
     }
 
     /**
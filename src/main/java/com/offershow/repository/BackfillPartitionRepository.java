@@ -0,0 +1,81 @@
+package com.offershow.repository;
+
+import com.offershow.model.entity.BackfillPartition;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统计回填分区仓库接口
+ */
+public interface BackfillPartitionRepository {
+    /**
+     * 批量插入回填分区
+     *
+     * @param partitions 回填分区实体列表
+     * @return 影响行数
+     */
+    int batchInsert(@Param("list") List<BackfillPartition> partitions);
+
+    /**
+     * 查询任务中未完成的分区 (包括失败和中断的分区)
+     *
+     * @param taskId 回填任务ID
+     * @return 回填分区列表
+     */
+    List<BackfillPartition> findUnfinished(@Param("taskId") Long taskId);
+
+    /**
+     * 锁定任务中可领取的分区 (FOR UPDATE SKIP LOCKED)，需要在事务内调用
+     * 包括待处理的分区，以及执行中但任务租约已过期或已失败的分区
+     *
+     * @param taskId  回填任务ID
+     * @param jobName 分区租约的任务名称
+     * @param limit   最多锁定的分区数
+     * @return 回填分区列表，按分区日期升序
+     */
+    List<BackfillPartition> lockClaimable(@Param("taskId") Long taskId,
+                                          @Param("jobName") String jobName,
+                                          @Param("limit") int limit);
+
+    /**
+     * 将任务中失败的分区重置为待处理
+     *
+     * @param taskId 回填任务ID
+     * @return 影响行数
+     */
+    int resetFailed(@Param("taskId") Long taskId);
+
+    /**
+     * 标记分区开始执行
+     *
+     * @param id        分区ID
+     * @param startedAt 开始时间
+     * @return 影响行数
+     */
+    int markRunning(@Param("id") Long id, @Param("startedAt") LocalDateTime startedAt);
+
+    /**
+     * 标记分区执行结束
+     *
+     * @param id           分区ID
+     * @param status       分区状态
+     * @param errorMessage 错误信息
+     * @param finishedAt   结束时间
+     * @return 影响行数
+     */
+    int markFinished(@Param("id") Long id,
+                     @Param("status") String status,
+                     @Param("errorMessage") String errorMessage,
+                     @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * 按状态统计任务的分区数量
+     *
+     * @param taskId 回填任务ID
+     * @return 状态和数量列表，每项包含 status 和 count
+     */
+    List<Map<String, Object>> countByStatus(@Param("taskId") Long taskId);
+}
\ No newline at end of file
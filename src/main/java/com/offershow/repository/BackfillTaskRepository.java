@@ -0,0 +1,42 @@
+package com.offershow.repository;
+
+import com.offershow.model.entity.BackfillTask;
+
+import java.util.List;
+
+/**
+ * 统计回填任务仓库接口
+ */
+public interface BackfillTaskRepository {
+    /**
+     * 插入回填任务
+     *
+     * @param backfillTask 回填任务实体
+     * @return 影响行数
+     */
+    int insert(BackfillTask backfillTask);
+
+    /**
+     * 更新回填任务
+     *
+     * @param backfillTask 回填任务实体
+     * @return 影响行数
+     */
+    int update(BackfillTask backfillTask);
+
+    /**
+     * 根据 ID 查询回填任务
+     *
+     * @param id 回填任务 ID
+     * @return 回填任务实体
+     */
+    BackfillTask findById(Long id);
+
+    /**
+     * 根据状态查询回填任务
+     *
+     * @param status 任务状态
+     * @return 回填任务列表
+     */
+    List<BackfillTask> findByStatus(String status);
+}
\ No newline at end of file
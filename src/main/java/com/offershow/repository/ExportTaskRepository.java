@@ -1,6 +1,7 @@
 package com.offershow.repository;
 
 import com.offershow.model.entity.ExportTask;
+import org.apache.ibatis.annotations.Param;
 
 import java.util.List;
 
@@ -33,35 +34,82 @@ public interface ExportTaskRepository {
     ExportTask findById(Long id);
 
     /**
-     * 查询所有待处理的导出任务
+     * 锁定可领取的任务 (FOR UPDATE SKIP LOCKED)，需要在事务内调用
+     * 包括待处理的任务，以及租约已过期且未超过最大领取次数的处理中任务
      *
-     * @return 导出任务列表
+     * @param limit       最多锁定的任务数
+     * @param maxAttempts 最大领取次数
+     * @return 任务ID列表，按ID升序
      */
-    List<ExportTask> findPendingTasks();
+    List<Long> lockClaimable(@Param("limit") int limit, @Param("maxAttempts") int maxAttempts);
 
     /**
-     * 更新任务状态
+     * 领取任务：标记为处理中，设置处理节点和租约，领取次数递增
      *
-     * @param id     任务ID
-     * @param status 状态
+     * @param ids          任务ID列表
+     * @param owner        处理节点
+     * @param leaseSeconds 租约时长 (秒)
      * @return 影响行数
      */
-    int updateStatus(Long id, String status);
+    int claim(@Param("ids") List<Long> ids, @Param("owner") String owner, @Param("leaseSeconds") int leaseSeconds);
 
     /**
-     * 更新任务文件URL
+     * 续约当前节点正在处理的任务
      *
-     * @param id      任务ID
-     * @param fileUrl 文件URL
+     * @param ids          任务ID列表
+     * @param owner        处理节点
+     * @param leaseSeconds 租约时长 (秒)
      * @return 影响行数
      */
-    int updateFileUrl(Long id, String fileUrl);
+    int renewLeases(@Param("ids") List<Long> ids, @Param("owner") String owner, @Param("leaseSeconds") int leaseSeconds);
 
     /**
-     * 删除指定日期之前的已完成任务
+     * 完成任务，处理节点和领取次数不匹配 (任务已被接管) 时不更新
      *
-     * @param date 日期
+     * @param id       任务ID
+     * @param owner    处理节点
+     * @param attempts 领取次数
+     * @param fileUrl  文件URL
      * @return 影响行数
      */
-    int deleteCompletedTasksBefore(String date);
+    int complete(@Param("id") Long id, @Param("owner") String owner, @Param("attempts") int attempts,
+                 @Param("fileUrl") String fileUrl);
+
+    /**
+     * 标记任务失败，处理节点和领取次数不匹配 (任务已被接管) 时不更新
+     *
+     * @param id           任务ID
+     * @param owner        处理节点
+     * @param attempts     领取次数
+     * @param errorMessage 错误信息
+     * @return 影响行数
+     */
+    int fail(@Param("id") Long id, @Param("owner") String owner, @Param("attempts") int attempts,
+             @Param("errorMessage") String errorMessage);
+
+    /**
+     * 租约过期且已达到最大领取次数的任务标记为失败
+     *
+     * @param maxAttempts 最大领取次数
+     * @return 影响行数
+     */
+    int failExhausted(@Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 释放节点持有的处理中任务，重新进入待处理状态
+     *
+     * @param owner 处理节点
+     * @return 影响行数
+     */
+    int release(@Param("owner") String owner);
+
+    /**
+     * 按 (结束时间, 主键) 顺序删除一批指定状态、指定日期之前结束的任务
+     *
+     * @param status 任务状态 (COMPLETED/FAILED)
+     * @param date   日期
+     * @param limit  每批最多删除的行数
+     * @return 影响行数
+     */
+    int deleteFinishedTasksBefore(@Param("status") String status, @Param("date") String date, @Param("limit") int limit);
 }
\ No newline at end of file
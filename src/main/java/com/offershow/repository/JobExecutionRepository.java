@@ -0,0 +1,83 @@
+package com.offershow.repository;
+
+import com.offershow.model.entity.JobExecution;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 任务执行租约仓库接口
+ */
+public interface JobExecutionRepository {
+    /**
+     * 首次获取租约，同一任务批次的记录已存在时不插入
+     *
+     * @param jobName      任务名称
+     * @param occurrence   执行批次
+     * @param owner        节点标识
+     * @param leaseSeconds 租约时长 (秒)
+     * @return 影响行数，1表示获取成功
+     */
+    int insertIfAbsent(@Param("jobName") String jobName,
+                       @Param("occurrence") String occurrence,
+                       @Param("owner") String owner,
+                       @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * 接管已失败或租约已过期的任务批次，同时递增防护令牌
+     *
+     * @param jobName      任务名称
+     * @param occurrence   执行批次
+     * @param owner        节点标识
+     * @param leaseSeconds 租约时长 (秒)
+     * @return 影响行数，1表示接管成功
+     */
+    int takeOver(@Param("jobName") String jobName,
+                 @Param("occurrence") String occurrence,
+                 @Param("owner") String owner,
+                 @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * 根据任务名称和执行批次查询
+     *
+     * @param jobName    任务名称
+     * @param occurrence 执行批次
+     * @return 任务执行租约
+     */
+    JobExecution findByJobAndOccurrence(@Param("jobName") String jobName,
+                                        @Param("occurrence") String occurrence);
+
+    /**
+     * 续约，防护令牌不匹配 (租约已被其他节点接管) 时不更新
+     *
+     * @param id           主键ID
+     * @param fencingToken 防护令牌
+     * @param leaseSeconds 租约时长 (秒)
+     * @return 影响行数
+     */
+    int renew(@Param("id") Long id,
+              @Param("fencingToken") Long fencingToken,
+              @Param("leaseSeconds") int leaseSeconds);
+
+    /**
+     * 结束任务批次，防护令牌不匹配时不更新
+     *
+     * @param id           主键ID
+     * @param fencingToken 防护令牌
+     * @param status       执行状态
+     * @param errorMessage 错误信息
+     * @return 影响行数
+     */
+    int finish(@Param("id") Long id,
+               @Param("fencingToken") Long fencingToken,
+               @Param("status") String status,
+               @Param("errorMessage") String errorMessage);
+
+    /**
+     * 按 (结束时间, 主键) 顺序删除一批指定状态、指定日期之前结束的执行记录
+     *
+     * @param status 执行状态 (COMPLETED/FAILED)
+     * @param date   日期
+     * @param limit  每批最多删除的行数
+     * @return 影响行数
+     */
+    int deleteFinishedBefore(@Param("status") String status, @Param("date") String date, @Param("limit") int limit);
+}
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.offershow.repository;
 
 import com.offershow.model.entity.Offer;
+import com.offershow.model.entity.OfferSalaryFact;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,6 +20,14 @@ public interface OfferRepository {
      */
     int insert(Offer offer);
 
+    /**
+     * 批量插入 Offer，插入后回填各实体的自增主键
+     *
+     * @param offers Offer 实体列表
+     * @return 影响行数
+     */
+    int batchInsert(@Param("list") List<Offer> offers);
+
     /**
      * 更新 Offer
      *
@@ -25,6 +36,24 @@ public interface OfferRepository {
      */
     int update(Offer offer);
 
+    /**
+     * 根据 ID 列表批量逻辑删除 Offer
+     *
+     * @param ids       ID 列表
+     * @param updatedAt 更新时间
+     * @return 影响行数
+     */
+    int softDeleteByIds(@Param("ids") List<Long> ids, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 按 (逻辑删除时间, 主键) 顺序物理删除一批指定时间之前逻辑删除的 Offer
+     *
+     * @param before 逻辑删除时间上限
+     * @param limit  每批最多删除的行数
+     * @return 影响行数
+     */
+    int purgeDeletedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
     /**
      * 根据 ID 查询 Offer
      *
@@ -33,6 +62,14 @@ public interface OfferRepository {
      */
     Offer findById(Long id);
 
+    /**
+     * 根据 ID 查询 Offer 并加行锁，需在事务内调用
+     *
+     * @param id Offer ID
+     * @return Offer 实体
+     */
+    Offer findByIdForUpdate(Long id);
+
     /**
      * 根据关键词查询 Offer
      *
@@ -43,6 +80,20 @@ public interface OfferRepository {
      */
     List<Offer> findByKeyword(@Param("keyword") String keyword, @Param("offset") int offset, @Param("limit") int limit);
 
+    /**
+     * 根据关键词按游标查询 Offer，结果按创建时间、ID倒序
+     *
+     * @param keyword         关键词
+     * @param cursorCreatedAt 游标位置的创建时间，为null时从第一条开始
+     * @param cursorId        游标位置的ID
+     * @param limit           限制数量
+     * @return Offer 列表
+     */
+    List<Offer> findByKeywordAfter(@Param("keyword") String keyword,
+                                   @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                   @Param("cursorId") Long cursorId,
+                                   @Param("limit") int limit);
+
     /**
      * 统计符合关键词的 Offer 数量
      *
@@ -51,6 +102,13 @@ public interface OfferRepository {
      */
     int countByKeyword(@Param("keyword") String keyword);
 
+    /**
+     * 根据表统计信息估算 Offer 数量
+     *
+     * @return 估算数量，统计信息不可用时返回null
+     */
+    Long estimateCount();
+
     /**
      * 根据 ID 列表批量查询 Offer
      *
@@ -59,6 +117,21 @@ public interface OfferRepository {
      */
     List<Offer> findByIds(@Param("ids") List<Long> ids);
 
+    /**
+     * 根据 ID 列表批量查询未删除的 Offer 并加行锁，需在事务内调用
+     *
+     * @param ids ID 列表
+     * @return Offer 列表
+     */
+    List<Offer> findByIdsForUpdate(@Param("ids") List<Long> ids);
+
+    /**
+     * 查询最早的 Offer 创建时间
+     *
+     * @return 创建时间，没有数据时返回null
+     */
+    LocalDateTime findEarliestCreatedAt();
+
     /**
      * 查询指定时间范围内的所有 Offer
      *
@@ -67,4 +140,60 @@ public interface OfferRepository {
      * @return Offer 列表
      */
     List<Offer> findByDateRange(@Param("startDate") String startDate, @Param("endDate") String endDate);
+
+    /**
+     * 流式查询指定时间范围内的所有 Offer，结果逐行回调而不在内存中汇总
+     *
+     * @param startDate 开始日期
+     * @param endDate   结束日期
+     * @param handler   结果处理器
+     */
+    void streamByDateRange(@Param("startDate") String startDate, @Param("endDate") String endDate, ResultHandler<Offer> handler);
+
+    /**
+     * 流式查询指定时间范围内所有 Offer 的统计字段 (公司名称、职位名称、工作城市、工作年限、总薪资)，不保证顺序
+     *
+     * @param startDate 开始日期
+     * @param endDate   结束日期
+     * @param handler   结果处理器
+     */
+    void streamSalaryFacts(@Param("startDate") String startDate, @Param("endDate") String endDate, ResultHandler<OfferSalaryFact> handler);
+
+    /**
+     * 流式查询所有未删除 Offer 的检索字段 (ID、公司名称、职位名称、工作城市、工作描述、创建时间)
+     *
+     * @param handler 结果处理器
+     */
+    void streamSearchDocuments(ResultHandler<Offer> handler);
+
+    /**
+     * 按 (更新时间, ID) 顺序查询游标之后更新的 Offer 检索字段，包括已逻辑删除的记录
+     *
+     * @param afterUpdatedAt 游标更新时间
+     * @param afterId        游标ID
+     * @param limit          限制数量
+     * @return Offer 列表 (检索字段、更新时间和删除标记)
+     */
+    List<Offer> findSearchDocumentsUpdatedAfter(@Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                                                @Param("afterId") Long afterId,
+                                                @Param("limit") int limit);
+
+    /**
+     * 按 (更新时间, ID) 顺序查询游标之后更新的 Offer ID，包括已逻辑删除的记录
+     *
+     * @param afterUpdatedAt 游标更新时间
+     * @param afterId        游标ID
+     * @param limit          限制数量
+     * @return Offer 列表 (只包含ID和更新时间)
+     */
+    List<Offer> findUpdatedIdsAfter(@Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                                    @Param("afterId") Long afterId,
+                                    @Param("limit") int limit);
+
+    /**
+     * 查询最近的 Offer 更新时间
+     *
+     * @return 更新时间，没有数据时返回null
+     */
+    LocalDateTime findLatestUpdatedAt();
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.offershow.repository;
+
+import com.offershow.model.entity.RunningStatistics;
+import com.offershow.model.entity.RunningStatisticsSeed;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 薪资实时聚合仓库接口
+ */
+public interface RunningStatisticsRepository {
+    /**
+     * 批量累加增量，不存在的分桶自动创建
+     *
+     * @param deltas 增量列表
+     * @return 影响行数
+     */
+    int upsertDeltas(@Param("list") List<RunningStatistics> deltas);
+
+    /**
+     * 删除指定日期的全部分桶
+     *
+     * @param bucketDate 分桶日期
+     * @return 影响行数
+     */
+    int deleteByBucketDate(@Param("bucketDate") LocalDate bucketDate);
+
+    /**
+     * 按主键顺序删除一批指定日期之前的分桶
+     *
+     * @param date  日期
+     * @param limit 每批最多删除的行数
+     * @return 影响行数
+     */
+    int deleteBucketsBefore(@Param("date") String date, @Param("limit") int limit);
+
+    /**
+     * 按维度和维度值汇总日期范围内的分桶，结果不包含分桶日期
+     *
+     * @param startDate  开始日期 (包含)
+     * @param endDate    结束日期 (包含)
+     * @param dimensions 统计维度列表
+     * @return 汇总结果
+     */
+    List<RunningStatistics> sumByBucketRange(@Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate,
+                                             @Param("dimensions") List<String> dimensions);
+
+    /**
+     * 创建初始化进度，已存在时保持不变
+     *
+     * @param seedFrom  初始化开始日期
+     * @param seedUntil 初始化结束日期
+     * @return 影响行数
+     */
+    int insertSeedIfAbsent(@Param("seedFrom") LocalDate seedFrom, @Param("seedUntil") LocalDate seedUntil);
+
+    /**
+     * 查询初始化进度
+     *
+     * @return 初始化进度，尚未开始时返回null
+     */
+    RunningStatisticsSeed findSeed();
+
+    /**
+     * 推进初始化进度
+     *
+     * @param date 已完成初始化的日期
+     * @return 影响行数
+     */
+    int advanceSeed(@Param("date") LocalDate date);
+
+    /**
+     * 标记初始化完成
+     *
+     * @return 影响行数
+     */
+    int completeSeed();
+}
\ No newline at end of file
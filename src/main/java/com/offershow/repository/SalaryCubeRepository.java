@@ -0,0 +1,57 @@
+package com.offershow.repository;
+
+import com.offershow.model.entity.SalaryCubeCell;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 薪资多维立方体仓库接口
+ */
+public interface SalaryCubeRepository {
+    /**
+     * 批量写入立方体单元，单元已存在时覆盖
+     *
+     * @param cells 立方体单元列表
+     * @return 影响行数
+     */
+    int upsertBatch(@Param("list") List<SalaryCubeCell> cells);
+
+    /**
+     * 删除指定日期的全部单元
+     *
+     * @param cellDate 日期
+     * @return 影响行数
+     */
+    int deleteByDate(@Param("cellDate") LocalDate cellDate);
+
+    /**
+     * 按主键顺序删除一批指定日期之前的单元
+     *
+     * @param date  日期
+     * @param limit 每批最多删除的行数
+     * @return 影响行数
+     */
+    int deleteCellsBefore(@Param("date") String date, @Param("limit") int limit);
+
+    /**
+     * 在数据库内聚合指定时间范围内的Offer，写入指定日期的单元
+     *
+     * @param startTime 开始时间
+     * @param endTime   结束时间
+     * @param cellDate  日期
+     * @return 影响行数
+     */
+    int pushdownCells(@Param("startTime") String startTime,
+                      @Param("endTime") String endTime,
+                      @Param("cellDate") LocalDate cellDate);
+
+    /**
+     * 流式查询全部单元，结果逐行回调而不在内存中汇总
+     *
+     * @param handler 结果处理器
+     */
+    void streamAll(ResultHandler<SalaryCubeCell> handler);
+}
\ No newline at end of file
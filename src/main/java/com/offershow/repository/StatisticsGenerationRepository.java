@@ -0,0 +1,20 @@
+package com.offershow.repository;
+
+/**
+ * 统计数据版本仓库接口
+ */
+public interface StatisticsGenerationRepository {
+    /**
+     * 递增统计数据版本号，版本记录不存在时创建
+     *
+     * @return 影响行数
+     */
+    int increment();
+
+    /**
+     * 查询当前统计数据版本号
+     *
+     * @return 版本号，版本记录不存在时返回null
+     */
+    Long findCurrent();
+}
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.offershow.repository;
 
 import com.offershow.model.entity.Statistics;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -18,12 +20,13 @@ public interface StatisticsRepository {
     int insert(Statistics statistics);
 
     /**
-     * 批量插入统计信息
+     * 批量写入统计信息，唯一键 (统计类型, 维度, 维度值, 统计日期) 冲突时覆盖已有记录
+     * 调用方需控制每批的数量，避免单条语句超过 max_allowed_packet
      *
      * @param statisticsList 统计信息实体列表
      * @return 影响行数
      */
-    int batchInsert(@Param("list") List<Statistics> statisticsList);
+    int upsertBatch(@Param("list") List<Statistics> statisticsList);
 
     /**
      * 根据统计类型和维度查询统计信息
@@ -58,12 +61,90 @@ public interface StatisticsRepository {
             @Param("endDate") String endDate);
 
     /**
-     * 删除指定日期之前的统计数据
+     * 流式查询全部统计信息，按统计类型、维度、日期和维度值排序，结果逐行回调而不在内存中汇总
      *
-     * @param date 日期
+     * @param handler 结果处理器
+     */
+    void streamAll(ResultHandler<Statistics> handler);
+
+    /**
+     * 按维度值合并日期范围内的每日部分聚合 (样本数、有效薪资总和、有效薪资数量)，只合并已写入 TREND/DAILY 标记的日期
+     *
+     * @param statisticType 统计类型
+     * @param dimension     统计维度
+     * @param startDate     开始日期 (包含)
+     * @param endDate       结束日期 (包含)
+     * @return 合并后的统计信息列表
+     */
+    List<Statistics> sumDailyPartials(
+            @Param("statisticType") String statisticType,
+            @Param("dimension") String dimension,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * 查询日期范围内已生成统计数据的日期
+     *
+     * @param statisticType 统计类型
+     * @param dimension     统计维度
+     * @param startDate     开始日期 (包含)
+     * @param endDate       结束日期 (包含)
+     * @return 日期列表
+     */
+    List<LocalDate> findStatisticDates(
+            @Param("statisticType") String statisticType,
+            @Param("dimension") String dimension,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * 在数据库内聚合指定时间范围内的Offer，写入公司、职位、城市维度的薪资统计和总体的每日趋势统计
+     *
+     * @param startTime     开始时间
+     * @param endTime       结束时间
+     * @param statisticDate 统计日期
+     * @return 影响行数
+     */
+    int pushdownDailyStatistics(@Param("startTime") String startTime,
+                                @Param("endTime") String endTime,
+                                @Param("statisticDate") LocalDate statisticDate);
+
+    /**
+     * 在数据库内聚合指定时间范围内的Offer，写入总体和公司维度的趋势统计
+     *
+     * @param startTime        开始时间
+     * @param endTime          结束时间
+     * @param dimension        总体的统计维度
+     * @param companyDimension 公司的统计维度
+     * @param minCompanyCount  公司最小样本数，样本数不足的公司不写入
+     * @param statisticDate    统计日期
+     * @return 影响行数
+     */
+    int pushdownTrendStatistics(@Param("startTime") String startTime,
+                                @Param("endTime") String endTime,
+                                @Param("dimension") String dimension,
+                                @Param("companyDimension") String companyDimension,
+                                @Param("minCompanyCount") int minCompanyCount,
+                                @Param("statisticDate") LocalDate statisticDate);
+
+    /**
+     * 删除指定日期、指定维度的统计数据
+     *
+     * @param statisticDate 统计日期
+     * @param dimensions    统计维度列表
+     * @return 影响行数
+     */
+    int deleteByDateAndDimensions(@Param("statisticDate") LocalDate statisticDate,
+                                  @Param("dimensions") List<String> dimensions);
+
+    /**
+     * 按 (统计日期, 主键) 顺序删除一批指定日期之前的统计数据
+     *
+     * @param date  日期
+     * @param limit 每批最多删除的行数
      * @return 影响行数
      */
-    int deleteStatisticsBefore(String date);
+    int deleteStatisticsBefore(@Param("date") String date, @Param("limit") int limit);
 
     /**
      * 检查指定日期的统计数据是否已存在
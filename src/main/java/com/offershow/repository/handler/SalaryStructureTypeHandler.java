@@ -0,0 +1,44 @@
+package com.offershow.repository.handler;
+
+import com.offershow.model.entity.SalaryStructure;
+import com.offershow.util.SalaryParser;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.MappedTypes;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 薪资结构类型处理器
+ * 结果集映射时直接把 salary_structure 列解析为 {@link SalaryStructure}，写入时直接生成JSON
+ */
+@MappedTypes(SalaryStructure.class)
+public class SalaryStructureTypeHandler extends BaseTypeHandler<SalaryStructure> {
+
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, SalaryStructure parameter, JdbcType jdbcType) throws SQLException {
+        ps.setString(i, SalaryParser.toJson(parameter));
+    }
+
+    @Override
+    public SalaryStructure getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return parse(rs.getString(columnName));
+    }
+
+    @Override
+    public SalaryStructure getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return parse(rs.getString(columnIndex));
+    }
+
+    @Override
+    public SalaryStructure getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return parse(cs.getString(columnIndex));
+    }
+
+    private SalaryStructure parse(String json) {
+        return json == null ? null : SalaryParser.parse(json);
+    }
+}
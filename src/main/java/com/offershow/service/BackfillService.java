@@ -0,0 +1,33 @@
+package com.offershow.service;
+
+import com.offershow.model.dto.BackfillRequestDTO;
+import com.offershow.model.vo.BackfillTaskVO;
+
+/**
+ * 统计回填服务接口
+ */
+public interface BackfillService {
+    /**
+     * 创建统计回填任务并开始执行
+     *
+     * @param requestDTO 回填请求
+     * @return 回填任务视图对象
+     */
+    BackfillTaskVO createBackfillTask(BackfillRequestDTO requestDTO);
+
+    /**
+     * 获取统计回填任务进度
+     *
+     * @param taskId 任务ID
+     * @return 回填任务视图对象
+     */
+    BackfillTaskVO getBackfillTask(Long taskId);
+
+    /**
+     * 继续执行统计回填任务中未完成的分区
+     *
+     * @param taskId 任务ID
+     * @return 回填任务视图对象
+     */
+    BackfillTaskVO resumeBackfillTask(Long taskId);
+}
\ No newline at end of file
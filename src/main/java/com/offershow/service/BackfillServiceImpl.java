@@ -0,0 +1,392 @@
+package com.offershow.service;
+
+import com.offershow.exception.BusinessException;
+import com.offershow.exception.ResourceNotFoundException;
+import com.offershow.model.dto.BackfillRequestDTO;
+import com.offershow.model.entity.BackfillPartition;
+import com.offershow.model.entity.BackfillTask;
+import com.offershow.model.vo.BackfillTaskVO;
+import com.offershow.repository.BackfillPartitionRepository;
+import com.offershow.repository.BackfillTaskRepository;
+import com.offershow.task.JobCoordinator;
+import com.offershow.task.StatisticsTaskScheduler;
+import com.offershow.util.BatchUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * 统计回填服务实现类
+ * 将日期范围切分为按天的分区，在有界线程池中并行重算，每个分区在一个事务内替换当天的统计数据。
+ * 分区状态持久化，任务中断或部分失败后可以继续执行未完成的分区。
+ * 每个节点按配置的并发数分批领取分区：在一个短事务内通过 SELECT ... FOR UPDATE SKIP LOCKED 锁定待处理的分区并获取任务租约，
+ * 其他实例定时加入执行中的任务并领取剩余分区，回填工作分摊到整个集群而不会重复执行，没有可领取的分区时每次轮询只需一次查询。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BackfillServiceImpl implements BackfillService {
+
+    private static final String STATUS_PENDING = "PENDING";
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+
+    private static final String PARTITION_JOB_PREFIX = "statisticsBackfill:";
+    private static final String ROLLUP_JOB_NAME = "statisticsBackfillRollup";
+
+    private final BackfillTaskRepository backfillTaskRepository;
+    private final BackfillPartitionRepository backfillPartitionRepository;
+    private final StatisticsTaskScheduler statisticsTaskScheduler;
+    private final JobCoordinator jobCoordinator;
+    private final Executor taskExecutor;
+    private final Executor backfillExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.backfill.parallelism:2}")
+    private int parallelism;
+
+    @Value("${app.backfill.partition-pause-millis:200}")
+    private long partitionPauseMillis;
+
+    @Value("${app.backfill.max-days:366}")
+    private int maxDays;
+
+    /**
+     * 当前节点正在执行的任务ID
+     */
+    private final Set<Long> runningTaskIds = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public BackfillTaskVO createBackfillTask(BackfillRequestDTO requestDTO) {
+        LocalDate startDate = parseDate(requestDTO.getStartDate());
+        LocalDate endDate = parseDate(requestDTO.getEndDate());
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException("开始日期不能晚于结束日期");
+        }
+        if (!endDate.isBefore(LocalDate.now())) {
+            throw new BusinessException("只能回填今天之前的统计数据");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxDays) {
+            throw new BusinessException("单次回填最多" + maxDays + "天");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BackfillTask task = BackfillTask.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .status(STATUS_PENDING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+        backfillTaskRepository.insert(task);
+
+        List<BackfillPartition> partitions = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            partitions.add(BackfillPartition.builder()
+                    .taskId(task.getId())
+                    .partitionDate(date)
+                    .status(STATUS_PENDING)
+                    .build());
+        }
+        for (List<BackfillPartition> chunk : BatchUtils.partition(partitions, 500)) {
+            backfillPartitionRepository.batchInsert(chunk);
+        }
+
+        submit(task);
+        return convertToVO(task);
+    }
+
+    @Override
+    public BackfillTaskVO getBackfillTask(Long taskId) {
+        return convertToVO(findTask(taskId));
+    }
+
+    @Override
+    public BackfillTaskVO resumeBackfillTask(Long taskId) {
+        BackfillTask task = findTask(taskId);
+        if (STATUS_COMPLETED.equals(task.getStatus())) {
+            throw new BusinessException("回填任务已完成: " + taskId);
+        }
+
+        submit(task);
+        return convertToVO(task);
+    }
+
+    /**
+     * 加入其他实例正在执行的回填任务，领取尚未被领取的分区
+     */
+    @Scheduled(fixedDelayString = "${app.backfill.join-poll-millis:60000}")
+    public void joinRunningTasks() {
+        for (BackfillTask task : backfillTaskRepository.findByStatus(STATUS_RUNNING)) {
+            execute(task);
+        }
+    }
+
+    /**
+     * 标记任务为执行中并提交到后台执行
+     *
+     * @param task 回填任务
+     */
+    private void submit(BackfillTask task) {
+        if (runningTaskIds.contains(task.getId())) {
+            throw new BusinessException("回填任务正在执行: " + task.getId());
+        }
+
+        task.setStatus(STATUS_RUNNING);
+        task.setErrorMessage(null);
+        task.setUpdatedAt(LocalDateTime.now());
+        backfillTaskRepository.update(task);
+        // 失败的分区重新置为待处理，由本节点和其他节点重新领取
+        backfillPartitionRepository.resetFailed(task.getId());
+
+        execute(task);
+    }
+
+    /**
+     * 提交任务到后台执行，同一任务在当前节点只会有一个执行实例
+     *
+     * @param task 回填任务
+     */
+    private void execute(BackfillTask task) {
+        if (!runningTaskIds.add(task.getId())) {
+            return;
+        }
+
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    runTask(task);
+                } finally {
+                    runningTaskIds.remove(task.getId());
+                }
+            });
+        } catch (RuntimeException e) {
+            runningTaskIds.remove(task.getId());
+            throw e;
+        }
+    }
+
+    /**
+     * 按并发数分批领取并执行任务中的分区，直到没有可领取的分区；所有分区完成后由其中一个节点重算受影响的周度和月度统计
+     *
+     * @param task 回填任务
+     */
+    private void runTask(BackfillTask task) {
+        log.debug("Joining statistics backfill task {} for {} ~ {}", task.getId(), task.getStartDate(), task.getEndDate());
+        try {
+            long failed = 0;
+            List<ClaimedPartition> claimed;
+            while (!(claimed = claimPartitions(task.getId())).isEmpty()) {
+                List<CompletableFuture<PartitionResult>> futures = new ArrayList<>(claimed.size());
+                for (ClaimedPartition partition : claimed) {
+                    futures.add(CompletableFuture.supplyAsync(
+                            () -> runPartition(partition.getPartition(), partition.getLease()), backfillExecutor));
+                }
+                failed += futures.stream().map(CompletableFuture::join).filter(result -> result == PartitionResult.FAILED).count();
+            }
+
+            if (failed > 0) {
+                finishTask(task, STATUS_FAILED, failed + "个分区执行失败，可以继续执行未完成的分区");
+                return;
+            }
+
+            // 其余分区由其他节点执行中，由最后完成的节点重算周度和月度统计
+            int unfinished = backfillPartitionRepository.findUnfinished(task.getId()).size();
+            if (unfinished > 0) {
+                log.debug("Statistics backfill task {} has {} partitions running on other nodes", task.getId(), unfinished);
+                return;
+            }
+
+            boolean finished = jobCoordinator.runExclusively(ROLLUP_JOB_NAME, String.valueOf(task.getId()), () -> {
+                recomputeRollups(task.getStartDate(), task.getEndDate());
+                finishTask(task, STATUS_COMPLETED, null);
+            });
+            if (finished) {
+                log.info("Statistics backfill task {} completed", task.getId());
+            }
+        } catch (RuntimeException e) {
+            log.error("Statistics backfill task {} failed", task.getId(), e);
+            finishTask(task, STATUS_FAILED, StringUtils.abbreviate(e.getMessage(), 500));
+        }
+    }
+
+    /**
+     * 在一个短事务内锁定最多并发数个可领取的分区并获取任务租约，已被其他节点锁定的行直接跳过
+     * 分区的执行中状态与租约一起提交，其他节点只会在租约过期后重新领取
+     *
+     * @param taskId 回填任务ID
+     * @return 已领取的分区，没有可领取的分区时返回空列表
+     */
+    private List<ClaimedPartition> claimPartitions(Long taskId) {
+        String jobName = PARTITION_JOB_PREFIX + taskId;
+        return transactionTemplate.execute(status -> {
+            List<ClaimedPartition> claimed = new ArrayList<>();
+            for (BackfillPartition partition : backfillPartitionRepository.lockClaimable(taskId, jobName, parallelism)) {
+                JobCoordinator.Lease lease = jobCoordinator.tryAcquire(jobName, partition.getPartitionDate().toString());
+                if (lease != null) {
+                    backfillPartitionRepository.markRunning(partition.getId(), LocalDateTime.now());
+                    claimed.add(new ClaimedPartition(partition, lease));
+                }
+            }
+            return claimed;
+        });
+    }
+
+    /**
+     * 在租约内重算一个分区，结束后暂停一段时间以限制对数据库的压力
+     * 分区的统计数据和完成状态在同一事务内提交
+     *
+     * @param partition 回填分区
+     * @param lease     分区的任务租约
+     * @return 执行结果
+     */
+    private PartitionResult runPartition(BackfillPartition partition, JobCoordinator.Lease lease) {
+        try {
+            jobCoordinator.run(lease, () -> {
+                statisticsTaskScheduler.recomputeDailyStatistics(partition.getPartitionDate());
+                backfillPartitionRepository.markFinished(partition.getId(), STATUS_COMPLETED, null, LocalDateTime.now());
+            });
+            return PartitionResult.COMPLETED;
+        } catch (RuntimeException e) {
+            log.error("Failed to backfill statistics for {}", partition.getPartitionDate(), e);
+            backfillPartitionRepository.markFinished(partition.getId(), STATUS_FAILED,
+                    StringUtils.abbreviate(e.getMessage(), 500), LocalDateTime.now());
+            return PartitionResult.FAILED;
+        } finally {
+            pause();
+        }
+    }
+
+    /**
+     * 重算与日期范围有交集的已结束的周度和月度统计
+     *
+     * @param startDate 开始日期
+     * @param endDate   结束日期
+     */
+    private void recomputeRollups(LocalDate startDate, LocalDate endDate) {
+        LocalDate today = LocalDate.now();
+
+        // 周度统计以周日为结束日期
+        LocalDate weekEnd = startDate.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        LocalDate lastWeekEnd = endDate.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        for (; !weekEnd.isAfter(lastWeekEnd) && weekEnd.isBefore(today); weekEnd = weekEnd.plusWeeks(1)) {
+            statisticsTaskScheduler.recomputeWeeklyStatistics(weekEnd);
+        }
+
+        LocalDate monthEnd = startDate.with(TemporalAdjusters.lastDayOfMonth());
+        LocalDate lastMonthEnd = endDate.with(TemporalAdjusters.lastDayOfMonth());
+        for (; !monthEnd.isAfter(lastMonthEnd) && monthEnd.isBefore(today);
+             monthEnd = monthEnd.plusMonths(1).with(TemporalAdjusters.lastDayOfMonth())) {
+            statisticsTaskScheduler.recomputeMonthlyStatistics(monthEnd);
+        }
+    }
+
+    private void finishTask(BackfillTask task, String status, String errorMessage) {
+        LocalDateTime now = LocalDateTime.now();
+        task.setStatus(status);
+        task.setErrorMessage(errorMessage);
+        task.setUpdatedAt(now);
+        task.setCompletedAt(STATUS_COMPLETED.equals(status) ? now : null);
+        backfillTaskRepository.update(task);
+    }
+
+    private void pause() {
+        if (partitionPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(partitionPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 分区执行结果
+     */
+    private enum PartitionResult {
+        COMPLETED,
+        FAILED
+    }
+
+    /**
+     * 已领取的分区及其任务租约
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class ClaimedPartition {
+        private final BackfillPartition partition;
+        private final JobCoordinator.Lease lease;
+    }
+
+    private BackfillTask findTask(Long taskId) {
+        BackfillTask task = backfillTaskRepository.findById(taskId);
+        if (task == null) {
+            throw new ResourceNotFoundException("回填任务不存在: " + taskId);
+        }
+        return task;
+    }
+
+    private LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("日期格式不正确: " + date);
+        }
+    }
+
+    /**
+     * 转换为视图对象，分区进度按状态实时统计
+     *
+     * @param task 回填任务
+     * @return 回填任务视图对象
+     */
+    private BackfillTaskVO convertToVO(BackfillTask task) {
+        int total = 0;
+        int completed = 0;
+        int failed = 0;
+        for (Map<String, Object> row : backfillPartitionRepository.countByStatus(task.getId())) {
+            int count = ((Number) row.get("count")).intValue();
+            total += count;
+            if (STATUS_COMPLETED.equals(row.get("status"))) {
+                completed = count;
+            } else if (STATUS_FAILED.equals(row.get("status"))) {
+                failed = count;
+            }
+        }
+
+        return BackfillTaskVO.builder()
+                .taskId(task.getId())
+                .startDate(task.getStartDate())
+                .endDate(task.getEndDate())
+                .status(task.getStatus())
+                .totalPartitions(total)
+                .completedPartitions(completed)
+                .failedPartitions(failed)
+                .errorMessage(task.getErrorMessage())
+                .createdAt(task.getCreatedAt())
+                .completedAt(task.getCompletedAt())
+                .build();
+    }
+}
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.offershow.service;
 
 import com.offershow.model.dto.ExportRequestDTO;
+import com.offershow.model.entity.ExportTask;
 import com.offershow.model.vo.ExportTaskVO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -27,9 +29,13 @@ public interface ExportTaskService {
     ExportTaskVO getExportTaskStatus(Long taskId);
 
     /**
-     * 处理待执行的导出任务
+     * 按任务参数生成导出文件，由导出工作线程在领取任务后调用
+     *
+     * @param task 已领取的导出任务
+     * @return 文件URL
+     * @throws IOException 写入导出文件失败
      */
-    void processPendingExportTasks();
+    String exportFile(ExportTask task) throws IOException;
 
     /**
      * 导入Offer数据
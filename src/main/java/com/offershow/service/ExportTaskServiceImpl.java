@@ -8,24 +8,36 @@ import com.offershow.model.dto.ExportRequestDTO;
 import com.offershow.model.dto.OfferDTO;
 import com.offershow.model.entity.ExportTask;
 import com.offershow.model.entity.Offer;
+import com.offershow.model.entity.SalaryStructure;
+import com.offershow.model.vo.BatchResultVO;
 import com.offershow.model.vo.ExportTaskVO;
 import com.offershow.repository.ExportTaskRepository;
 import com.offershow.repository.OfferRepository;
+import com.offershow.task.ExportTaskCreatedEvent;
 import com.offershow.util.ExcelUtils;
+import com.offershow.util.SalaryParser;
+import com.offershow.util.StreamingExcelReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.session.ResultHandler;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import com.offershow.model.vo.OfferVO;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -33,7 +45,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /**
@@ -44,14 +56,29 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ExportTaskServiceImpl implements ExportTaskService {
 
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String CSV_HEADER = "ID,公司名称,职位名称,工作城市,工作年限,薪资结构,面试难度,是否接受,创建时间\n";
+
+    private static final int MAX_REPORTED_IMPORT_ERRORS = 1000;
+
+    private static final String[] EXCEL_HEADERS = {"ID", "公司名称", "职位名称", "工作城市", "工作年限", "薪资结构", "面试难度", "是否接受", "创建时间"};
+
     private final ExportTaskRepository exportTaskRepository;
     private final OfferRepository offerRepository;
     private final OfferService offerService;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Value("${app.export.path}")
     private String exportPath;
 
+    @Value("${app.export.excel.row-access-window:100}")
+    private int excelRowAccessWindow;
+
+    @Value("${app.import.batch-size:500}")
+    private int importBatchSize;
+
     @Override
     @Transactional
     public ExportTaskVO createExportTask(ExportRequestDTO exportRequestDTO) {
@@ -67,8 +94,9 @@ public class ExportTaskServiceImpl implements ExportTaskService {
             exportTask.setCreatedAt(now);
             exportTask.setUpdatedAt(now);
 
-            // 保存任务
+            // 保存任务，提交后唤醒导出工作线程
             exportTaskRepository.insert(exportTask);
+            applicationEventPublisher.publishEvent(new ExportTaskCreatedEvent(exportTask.getId()));
 
             return convertToVO(exportTask);
         } catch (JsonProcessingException e) {
@@ -88,87 +116,63 @@ public class ExportTaskServiceImpl implements ExportTaskService {
     }
 
     @Override
-    @Async
-    public void processPendingExportTasks() {
-        List<ExportTask> pendingTasks = exportTaskRepository.findPendingTasks();
-        log.info("Found {} pending export tasks to process", pendingTasks.size());
-
-        for (ExportTask task : pendingTasks) {
-            try {
-                // 更新任务状态为处理中
-                exportTaskRepository.updateStatus(task.getId(), "PROCESSING");
-
-                // 解析任务参数
-                ExportRequestDTO requestDTO = objectMapper.readValue(task.getTaskParams(), ExportRequestDTO.class);
-
-                // 导出数据
-                String fileUrl = exportData(task.getId(), requestDTO);
-
-                // 更新任务状态和文件URL
-                exportTaskRepository.updateFileUrl(task.getId(), fileUrl);
-
-                log.info("Export task {} completed successfully", task.getId());
-            } catch (Exception e) {
-                log.error("Failed to process export task: {}", task.getId(), e);
-                exportTaskRepository.updateStatus(task.getId(), "FAILED");
-            }
-        }
+    public String exportFile(ExportTask task) throws IOException {
+        ExportRequestDTO requestDTO = objectMapper.readValue(task.getTaskParams(), ExportRequestDTO.class);
+        return exportData(task.getId(), requestDTO);
     }
 
     @Override
-    @Transactional
     public Map<String, Object> importOffers(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new BusinessException("导入文件不能为空");
         }
 
-        Workbook workbook;
+        // 上传内容先落盘，避免整个文件驻留内存
+        Path tempFile = null;
         try {
-            workbook = WorkbookFactory.create(file.getInputStream());
-        } catch (Exception e) {
+            tempFile = Files.createTempFile("offer-import-", ".tmp");
+            file.transferTo(tempFile.toFile());
+
+            OfferImportSession session = new OfferImportSession();
+            if (FileMagic.valueOf(tempFile.toFile()) == FileMagic.OOXML) {
+                // xlsx 使用 SAX 事件模型逐行解析
+                StreamingExcelReader.readFirstSheet(tempFile.toFile(), session::acceptRow);
+            } else {
+                // xls 等旧格式回退到 DOM 模型
+                readWorkbook(tempFile.toFile(), session);
+            }
+            return session.finish();
+        } catch (IOException e) {
+            log.error("Failed to read import file", e);
             throw new BusinessException("文件格式不支持，请上传Excel文件");
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("Failed to delete temp import file: {}", tempFile, e);
+                }
+            }
         }
+    }
 
-        Sheet sheet = workbook.getSheetAt(0);
-
-        // 校验表头
-        Row headerRow = sheet.getRow(0);
-        validateHeaders(headerRow);
-
-        List<OfferDTO> offerDTOs = new ArrayList<>();
-        List<Map<String, Object>> errors = new ArrayList<>();
-
-        int totalRows = sheet.getPhysicalNumberOfRows();
-        for (int i = 1; i < totalRows; i++) {
-            Row row = sheet.getRow(i);
-            if (row == null) continue;
-
-            try {
-                OfferDTO offerDTO = parseOfferFromRow(row);
-                offerDTOs.add(offerDTO);
-            } catch (Exception e) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("rowNumber", i + 1);
-                error.put("message", e.getMessage());
-                errors.add(error);
+    /**
+     * 使用 DOM 模型读取非 xlsx 格式的 Excel 文件
+     *
+     * @param file    导入文件
+     * @param session 导入会话
+     */
+    private void readWorkbook(File file, OfferImportSession session) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(file, null, true)) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (Row row : sheet) {
+                session.acceptRow(row.getRowNum(), ExcelUtils.getRowValuesAsStrings(row));
             }
+        } catch (IOException | BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Unsupported workbook format", e);
         }
-
-        // 批量创建Offer
-        List<OfferDTO> validOffers = offerDTOs.stream()
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-
-        List<OfferVO> createdOffers = offerService.batchCreateOffers(validOffers);
-
-        // 构建返回结果
-        Map<String, Object> result = new HashMap<>();
-        result.put("totalRecords", totalRows - 1);
-        result.put("successCount", createdOffers.size());
-        result.put("failedCount", errors.size());
-        result.put("errors", errors);
-
-        return result;
     }
 
     /**
@@ -190,18 +194,15 @@ public class ExportTaskServiceImpl implements ExportTaskService {
                 ? requestDTO.getFileName()
                 : "offer_export_" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + "_" + taskId;
 
-        // 查询数据
-        List<Offer> offers = queryOffersForExport(requestDTO);
-
         // 导出路径
         String format = StringUtils.defaultIfBlank(requestDTO.getFormat(), "csv").toLowerCase();
         String filePath = exportPath + File.separator + fileName + "." + format;
 
         // 根据格式导出
         if ("csv".equals(format)) {
-            exportToCsv(offers, filePath);
+            exportToCsv(requestDTO, filePath);
         } else if ("excel".equals(format) || "xlsx".equals(format)) {
-            exportToExcel(offers, filePath);
+            exportToExcel(requestDTO, filePath);
         } else {
             throw new BusinessException("不支持的导出格式: " + format);
         }
@@ -211,57 +212,81 @@ public class ExportTaskServiceImpl implements ExportTaskService {
     }
 
     /**
-     * 查询要导出的Offer数据
+     * 流式读取要导出的Offer数据
      *
      * @param requestDTO 导出请求
-     * @return Offer列表
+     * @param handler    逐行处理器
      */
-    private List<Offer> queryOffersForExport(ExportRequestDTO requestDTO) {
+    private void streamOffersForExport(ExportRequestDTO requestDTO, ResultHandler<Offer> handler) {
         ExportRequestDTO.ExportFilters filters = requestDTO.getFilters();
         if (filters == null) {
-            return offerRepository.findByDateRange(null, null);
+            offerRepository.streamByDateRange(null, null, handler);
+            return;
         }
 
         // TODO: 实现更复杂的过滤条件查询
-        return offerRepository.findByDateRange(filters.getStartDate(), filters.getEndDate());
+        offerRepository.streamByDateRange(filters.getStartDate(), filters.getEndDate(), handler);
     }
 
     /**
      * 导出为CSV
+     * 数据库游标逐行读取并直接编码写入文件，内存占用与导出行数无关
      *
-     * @param offers   Offer列表
-     * @param filePath 文件路径
+     * @param requestDTO 导出请求
+     * @param filePath   文件路径
      */
-    private void exportToCsv(List<Offer> offers, String filePath) throws IOException {
-        // 构建CSV头
-        StringBuilder csv = new StringBuilder();
-        csv.append("ID,公司名称,职位名称,工作城市,工作年限,薪资结构,面试难度,是否接受,创建时间\n");
-
-        // 添加数据行
-        for (Offer offer : offers) {
-            csv.append(offer.getId()).append(",");
-            csv.append(escapeCSV(offer.getCompanyName())).append(",");
-            csv.append(escapeCSV(offer.getPosition())).append(",");
-            csv.append(escapeCSV(offer.getCity())).append(",");
-            csv.append(offer.getWorkYears()).append(",");
-            csv.append(escapeCSV(offer.getSalaryStructure())).append(",");
-            csv.append(offer.getInterviewDifficulty() == null ? "" : offer.getInterviewDifficulty()).append(",");
-            csv.append(offer.getIsAccepted() == null ? "" : offer.getIsAccepted()).append(",");
-            csv.append(offer.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).append("\n");
-        }
-
-        // 写入文件
-        Files.write(Paths.get(filePath), csv.toString().getBytes());
+    private void exportToCsv(ExportRequestDTO requestDTO, String filePath) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(filePath), StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            streamOffersForExport(requestDTO, context -> writeCsvRow(writer, context.getResultObject()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 写入一行CSV数据
+     *
+     * @param writer 输出流
+     * @param offer  Offer实体
+     */
+    private void writeCsvRow(Writer writer, Offer offer) {
+        try {
+            writer.write(String.valueOf(offer.getId()));
+            writer.write(',');
+            writer.write(escapeCSV(offer.getCompanyName()));
+            writer.write(',');
+            writer.write(escapeCSV(offer.getPosition()));
+            writer.write(',');
+            writer.write(escapeCSV(offer.getCity()));
+            writer.write(',');
+            writer.write(String.valueOf(offer.getWorkYears()));
+            writer.write(',');
+            writer.write(escapeCSV(SalaryParser.toJson(offer.getSalaryStructure())));
+            writer.write(',');
+            writer.write(offer.getInterviewDifficulty() == null ? "" : String.valueOf(offer.getInterviewDifficulty()));
+            writer.write(',');
+            writer.write(offer.getIsAccepted() == null ? "" : String.valueOf(offer.getIsAccepted()));
+            writer.write(',');
+            writer.write(offer.getCreatedAt().format(DATE_TIME_FORMATTER));
+            writer.write('\n');
+        } catch (IOException e) {
+            // ResultHandler 不允许抛出受检异常，由 exportToCsv 解包
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * 导出为Excel
+     * 基于 SXSSF 流式写入，内存中只保留最近的 excelRowAccessWindow 行，其余行压缩刷出到临时文件
      *
-     * @param offers   Offer列表
-     * @param filePath 文件路径
+     * @param requestDTO 导出请求
+     * @param filePath   文件路径
      */
-    private void exportToExcel(List<Offer> offers, String filePath) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook()) {
+    private void exportToExcel(ExportRequestDTO requestDTO, String filePath) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(excelRowAccessWindow);
+        workbook.setCompressTempFiles(true);
+        try {
             Sheet sheet = workbook.createSheet("Offer数据");
 
             // 创建头部样式
@@ -272,170 +297,178 @@ public class ExportTaskServiceImpl implements ExportTaskService {
 
             // 创建头部行
             Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "公司名称", "职位名称", "工作城市", "工作年限", "薪资结构", "面试难度", "是否接受", "创建时间"};
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < EXCEL_HEADERS.length; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
+                cell.setCellValue(EXCEL_HEADERS[i]);
                 cell.setCellStyle(headerStyle);
                 sheet.setColumnWidth(i, 256 * 20); // 设置列宽
             }
 
-            // 填充数据
-            int rowNum = 1;
-            for (Offer offer : offers) {
-                Row row = sheet.createRow(rowNum++);
-                row.createCell(0).setCellValue(offer.getId());
-                row.createCell(1).setCellValue(offer.getCompanyName());
-                row.createCell(2).setCellValue(offer.getPosition());
-                row.createCell(3).setCellValue(offer.getCity());
-                row.createCell(4).setCellValue(offer.getWorkYears());
-                row.createCell(5).setCellValue(offer.getSalaryStructure());
-
-                if (offer.getInterviewDifficulty() != null) {
-                    row.createCell(6).setCellValue(offer.getInterviewDifficulty());
-                } else {
-                    row.createCell(6).setCellValue("");
-                }
-
-                if (offer.getIsAccepted() != null) {
-                    row.createCell(7).setCellValue(offer.getIsAccepted() ? "是" : "否");
-                } else {
-                    row.createCell(7).setCellValue("");
+            // 逐行填充数据
+            int maxRows = SpreadsheetVersion.EXCEL2007.getMaxRows();
+            AtomicInteger rowNum = new AtomicInteger(1);
+            streamOffersForExport(requestDTO, context -> {
+                if (rowNum.get() >= maxRows) {
+                    throw new BusinessException("导出数据超过Excel最大行数限制，请使用CSV格式导出");
                 }
-
-                row.createCell(8).setCellValue(offer.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            }
+                writeExcelRow(sheet.createRow(rowNum.getAndIncrement()), context.getResultObject());
+            });
 
             // 写入文件
             try (FileOutputStream outputStream = new FileOutputStream(filePath)) {
                 workbook.write(outputStream);
             }
+        } finally {
+            // 删除刷出到磁盘的临时文件
+            workbook.dispose();
+            workbook.close();
         }
     }
 
     /**
-     * 校验导入文件表头
+     * 写入一行Excel数据
      *
-     * @param headerRow 表头行
+     * @param row   Excel行
+     * @param offer Offer实体
      */
-    private void validateHeaders(Row headerRow) {
-        if (headerRow == null) {
-            throw new BusinessException("导入文件格式不正确：缺少表头");
+    private void writeExcelRow(Row row, Offer offer) {
+        row.createCell(0).setCellValue(offer.getId());
+        row.createCell(1).setCellValue(offer.getCompanyName());
+        row.createCell(2).setCellValue(offer.getPosition());
+        row.createCell(3).setCellValue(offer.getCity());
+        row.createCell(4).setCellValue(offer.getWorkYears());
+        row.createCell(5).setCellValue(SalaryParser.toJson(offer.getSalaryStructure()));
+
+        if (offer.getInterviewDifficulty() != null) {
+            row.createCell(6).setCellValue(offer.getInterviewDifficulty());
+        } else {
+            row.createCell(6).setCellValue("");
         }
 
-        List<String> requiredHeaders = Arrays.asList("公司名称", "职位名称", "工作城市", "工作年限", "薪资结构");
-        List<String> actualHeaders = new ArrayList<>();
-
-        for (int i = 0; i < headerRow.getPhysicalNumberOfCells(); i++) {
-            Cell cell = headerRow.getCell(i);
-            if (cell != null) {
-                actualHeaders.add(cell.getStringCellValue());
-            }
+        if (offer.getIsAccepted() != null) {
+            row.createCell(7).setCellValue(offer.getIsAccepted() ? "是" : "否");
+        } else {
+            row.createCell(7).setCellValue("");
         }
 
+        row.createCell(8).setCellValue(offer.getCreatedAt().format(DATE_TIME_FORMATTER));
+    }
+
+    /**
+     * 校验导入文件表头
+     *
+     * @param headers 表头行的单元格值
+     */
+    private void validateHeaders(List<String> headers) {
+        List<String> requiredHeaders = Arrays.asList("公司名称", "职位名称", "工作城市", "工作年限", "薪资结构");
         for (String required : requiredHeaders) {
-            if (!actualHeaders.contains(required)) {
+            if (!headers.contains(required)) {
                 throw new BusinessException("导入文件格式不正确：缺少必要字段 " + required);
             }
         }
     }
 
     /**
-     * 从Excel行解析Offer数据
+     * 从Excel行的单元格值解析Offer数据
      *
-     * @param row Excel行
+     * @param cells 单元格值，下标为列号
      * @return OfferDTO
      */
-    private OfferDTO parseOfferFromRow(Row row) {
-        if (row == null) {
-            throw new BusinessException("空行");
-        }
-
+    private OfferDTO parseOfferFromCells(List<String> cells) {
         OfferDTO offerDTO = new OfferDTO();
 
         // 公司名称（必填）
-        Cell companyCell = row.getCell(0);
-        if (companyCell == null || StringUtils.isBlank(ExcelUtils.getCellValueAsString(companyCell))) {
+        String companyName = getCellValue(cells, 0);
+        if (StringUtils.isBlank(companyName)) {
             throw new BusinessException("公司名称不能为空");
         }
-        offerDTO.setCompanyName(ExcelUtils.getCellValueAsString(companyCell));
+        offerDTO.setCompanyName(companyName);
 
         // 职位名称（必填）
-        Cell positionCell = row.getCell(1);
-        if (positionCell == null || StringUtils.isBlank(ExcelUtils.getCellValueAsString(positionCell))) {
+        String position = getCellValue(cells, 1);
+        if (StringUtils.isBlank(position)) {
             throw new BusinessException("职位名称不能为空");
         }
-        offerDTO.setPosition(ExcelUtils.getCellValueAsString(positionCell));
+        offerDTO.setPosition(position);
 
         // 工作城市（必填）
-        Cell cityCell = row.getCell(2);
-        if (cityCell == null || StringUtils.isBlank(ExcelUtils.getCellValueAsString(cityCell))) {
+        String city = getCellValue(cells, 2);
+        if (StringUtils.isBlank(city)) {
             throw new BusinessException("工作城市不能为空");
         }
-        offerDTO.setCity(ExcelUtils.getCellValueAsString(cityCell));
+        offerDTO.setCity(city);
 
         // 工作年限（必填）
-        Cell workYearsCell = row.getCell(3);
-        if (workYearsCell == null) {
+        String workYears = getCellValue(cells, 3);
+        if (StringUtils.isBlank(workYears)) {
             throw new BusinessException("工作年限不能为空");
         }
         try {
-            offerDTO.setWorkYears((int) workYearsCell.getNumericCellValue());
-        } catch (Exception e) {
+            offerDTO.setWorkYears((int) Double.parseDouble(workYears.trim()));
+        } catch (NumberFormatException e) {
             throw new BusinessException("工作年限必须是数字");
         }
 
         // 薪资结构（必填）
-        Cell salaryCell = row.getCell(4);
-        if (salaryCell == null || StringUtils.isBlank(ExcelUtils.getCellValueAsString(salaryCell))) {
+        String salaryStr = getCellValue(cells, 4);
+        if (StringUtils.isBlank(salaryStr)) {
             throw new BusinessException("薪资结构不能为空");
         }
         try {
-            String salaryStr = ExcelUtils.getCellValueAsString(salaryCell);
-            Map<String, Object> salaryMap = objectMapper.readValue(salaryStr, Map.class);
-            offerDTO.setSalaryStructure(salaryMap);
-        } catch (Exception e) {
-            throw new BusinessException("薪资结构格式不正确，应为JSON格式");
+            offerDTO.setSalaryStructure(objectMapper.readValue(salaryStr, SalaryStructure.class));
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("薪资结构格式不正确，应为JSON对象且金额为数字: " + e.getOriginalMessage());
         }
 
         // 工作描述（选填）
-        Cell descCell = row.getCell(5);
-        if (descCell != null) {
-            offerDTO.setJobDescription(ExcelUtils.getCellValueAsString(descCell));
+        String jobDescription = getCellValue(cells, 5);
+        if (jobDescription != null) {
+            offerDTO.setJobDescription(jobDescription);
         }
 
         // 面试流程（选填）
-        Cell processCell = row.getCell(6);
-        if (processCell != null) {
-            offerDTO.setInterviewProcess(ExcelUtils.getCellValueAsString(processCell));
+        String interviewProcess = getCellValue(cells, 6);
+        if (interviewProcess != null) {
+            offerDTO.setInterviewProcess(interviewProcess);
         }
 
         // 面试难度（选填）
-        Cell difficultyCell = row.getCell(7);
-        if (difficultyCell != null) {
+        String difficulty = getCellValue(cells, 7);
+        if (difficulty != null) {
             try {
-                offerDTO.setInterviewDifficulty((int) difficultyCell.getNumericCellValue());
-            } catch (Exception e) {
+                offerDTO.setInterviewDifficulty((int) Double.parseDouble(difficulty.trim()));
+            } catch (NumberFormatException e) {
                 // 忽略无效值
             }
         }
 
         // 是否接受（选填）
-        Cell acceptedCell = row.getCell(8);
-        if (acceptedCell != null) {
-            String value = ExcelUtils.getCellValueAsString(acceptedCell).toLowerCase();
+        String accepted = getCellValue(cells, 8);
+        if (accepted != null) {
+            String value = accepted.toLowerCase();
             offerDTO.setIsAccepted("是".equals(value) || "true".equals(value) || "1".equals(value));
         }
 
         // 拒绝原因（选填）
-        Cell rejectCell = row.getCell(9);
-        if (rejectCell != null) {
-            offerDTO.setRejectReason(ExcelUtils.getCellValueAsString(rejectCell));
+        String rejectReason = getCellValue(cells, 9);
+        if (rejectReason != null) {
+            offerDTO.setRejectReason(rejectReason);
         }
 
         return offerDTO;
     }
 
+    /**
+     * 获取指定列的单元格值
+     *
+     * @param cells 单元格值列表
+     * @param index 列号
+     * @return 单元格值，不存在时返回null
+     */
+    private String getCellValue(List<String> cells, int index) {
+        return index < cells.size() ? cells.get(index) : null;
+    }
+
     /**
      * 转义CSV字段
      *
@@ -473,4 +506,92 @@ public class ExportTaskServiceImpl implements ExportTaskService {
                 .completedAt(exportTask.getCompletedAt())
                 .build();
     }
+
+    /**
+     * 导入会话：校验表头，逐行解析数据，并按固定批次写入数据库
+     */
+    private class OfferImportSession {
+
+        private final List<OfferDTO> batch = new ArrayList<>();
+        private final List<Integer> batchRowNumbers = new ArrayList<>();
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private boolean headerValidated;
+        private int totalRecords;
+        private int successCount;
+        private int failedCount;
+
+        /**
+         * 处理一行数据，第一行为表头
+         *
+         * @param rowIndex 行号 (从0开始)
+         * @param cells    单元格值
+         */
+        void acceptRow(int rowIndex, List<String> cells) {
+            if (!headerValidated) {
+                if (rowIndex != 0) {
+                    throw new BusinessException("导入文件格式不正确：缺少表头");
+                }
+                validateHeaders(cells);
+                headerValidated = true;
+                return;
+            }
+
+            totalRecords++;
+            try {
+                batch.add(parseOfferFromCells(cells));
+                batchRowNumbers.add(rowIndex + 1);
+            } catch (Exception e) {
+                recordError(rowIndex + 1, e.getMessage());
+                return;
+            }
+
+            if (batch.size() >= importBatchSize) {
+                flush();
+            }
+        }
+
+        /**
+         * 写入剩余数据并构建导入结果
+         *
+         * @return 导入结果
+         */
+        Map<String, Object> finish() {
+            if (!headerValidated) {
+                throw new BusinessException("导入文件格式不正确：缺少表头");
+            }
+            flush();
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("totalRecords", totalRecords);
+            result.put("successCount", successCount);
+            result.put("failedCount", failedCount);
+            result.put("errors", errors);
+            return result;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            BatchResultVO<OfferVO> batchResult = offerService.batchCreateOffers(batch);
+            successCount += batchResult.getSuccessCount();
+            for (Map<String, Object> failedRecord : batchResult.getFailedRecords()) {
+                int index = (Integer) failedRecord.get("index");
+                recordError(batchRowNumbers.get(index), String.valueOf(failedRecord.get("message")));
+            }
+            batch.clear();
+            batchRowNumbers.clear();
+        }
+
+        private void recordError(int rowNumber, String message) {
+            failedCount++;
+            // 只保留前若干条错误详情，避免错误文件撑满内存
+            if (errors.size() < MAX_REPORTED_IMPORT_ERRORS) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("rowNumber", rowNumber);
+                error.put("message", message);
+                errors.add(error);
+            }
+        }
+    }
 }
\ No newline at end of file
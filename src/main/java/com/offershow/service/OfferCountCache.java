@@ -0,0 +1,123 @@
+package com.offershow.service;
+
+import com.offershow.repository.OfferRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offer 搜索总数缓存
+ * 按规范化后的关键词缓存精确总数 (包括不带关键词的查询)，短TTL过期并在Offer写操作提交后失效，避免每次分页都执行一次 COUNT(*)。
+ * 可选地对不带关键词的宽泛查询使用表统计信息估算总数，估算值可能偏差较大且包含已逻辑删除的记录，默认关闭。
+ */
+@Component
+@RequiredArgsConstructor
+public class OfferCountCache {
+
+    private final OfferRepository offerRepository;
+
+    @Value("${app.search.count.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${app.search.count.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${app.search.count.estimate-broad:false}")
+    private boolean estimateBroad;
+
+    /**
+     * 规范化关键词 -> 缓存的总数
+     */
+    private final ConcurrentHashMap<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    /**
+     * 失效版本号，计数期间发生写操作时不回填缓存，避免写入过期的总数
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 获取符合关键词的Offer总数
+     *
+     * @param keyword 关键词
+     * @return 总数
+     */
+    public Count count(String keyword) {
+        String key = normalize(keyword);
+        long now = System.currentTimeMillis();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.getExpiresAt() > now) {
+            return cached.getCount();
+        }
+
+        long currentVersion = version.get();
+        Count count;
+        if (key.isEmpty() && estimateBroad) {
+            Long estimate = offerRepository.estimateCount();
+            count = estimate != null
+                    ? new Count(estimate, true)
+                    : new Count(offerRepository.countByKeyword(keyword), false);
+        } else {
+            count = new Count(offerRepository.countByKeyword(keyword), false);
+        }
+
+        if (counts.size() >= maxEntries) {
+            counts.values().removeIf(entry -> entry.getExpiresAt() <= now);
+            if (counts.size() >= maxEntries) {
+                counts.clear();
+            }
+        }
+        if (version.get() == currentVersion) {
+            counts.put(key, new CachedCount(count, now + ttlSeconds * 1000));
+        }
+        return count;
+    }
+
+    /**
+     * 使所有缓存的总数失效
+     */
+    public void invalidateAll() {
+        version.incrementAndGet();
+        counts.clear();
+    }
+
+    /**
+     * 规范化关键词，MySQL 默认排序规则下 LIKE 不区分大小写，因此大小写不同的关键词共用缓存
+     *
+     * @param keyword 关键词
+     * @return 规范化后的关键词
+     */
+    private String normalize(String keyword) {
+        return StringUtils.trimToEmpty(keyword).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 总数
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Count {
+        /**
+         * 总数
+         */
+        private long value;
+
+        /**
+         * 是否为估算值
+         */
+        private boolean estimated;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class CachedCount {
+        private Count count;
+        private long expiresAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.offershow.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.offershow.model.entity.Offer;
+import com.offershow.model.vo.OfferVO;
+import com.offershow.repository.OfferRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Offer 详情缓存
+ * 按ID缓存已转换的 OfferVO，按估算的内存占用限制容量 (W-TinyLFU 淘汰)，并通过 Micrometer 暴露命中率指标。
+ * 写操作在事务内和事务提交后各失效一次；读取时记录写版本号，期间发生过写操作则不回填，保证旧数据不会在写操作之后留在缓存中。
+ * 其他实例的写操作通过定时轮询 (更新时间, ID) 水位之后更新的记录失效，旧数据最多在轮询间隔内被读取；
+ * 每次轮询回看一段重叠时间，覆盖提交晚于更新时间的事务和实例间的时钟偏差。
+ */
+@Component
+@RequiredArgsConstructor
+public class OfferDetailCache {
+
+    private final MeterRegistry meterRegistry;
+    private final OfferRepository offerRepository;
+
+    @Value("${app.cache.offer.max-weight-kb:65536}")
+    private long maxWeightKb;
+
+    @Value("${app.cache.offer.expire-minutes:30}")
+    private long expireMinutes;
+
+    @Value("${app.cache.offer.sync-overlap-seconds:120}")
+    private long syncOverlapSeconds;
+
+    @Value("${app.cache.offer.sync-batch-size:1000}")
+    private int syncBatchSize;
+
+    /**
+     * 已同步到的最近更新时间，启动时缓存为空，从当前时间开始同步
+     */
+    private volatile LocalDateTime watermark = LocalDateTime.now();
+
+    /**
+     * 写版本号，每次失效时递增
+     */
+    private final AtomicLong writeVersion = new AtomicLong();
+
+    private Cache<Long, OfferVO> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxWeightKb * 1024)
+                .weigher((Long id, OfferVO offerVO) -> estimateSize(offerVO))
+                .expireAfterWrite(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "offerDetail");
+    }
+
+    /**
+     * 读取缓存，未命中时加载并回填
+     *
+     * @param id     Offer ID
+     * @param loader 加载函数，返回null时不缓存
+     * @return OfferVO
+     */
+    public OfferVO get(Long id, Supplier<OfferVO> loader) {
+        OfferVO cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = writeVersion.get();
+        OfferVO offerVO = loader.get();
+        if (offerVO != null && writeVersion.get() == version) {
+            cache.asMap().putIfAbsent(id, offerVO);
+            // 回填与失效并发时再次校验，确保失效之后不残留旧数据
+            if (writeVersion.get() != version) {
+                cache.asMap().remove(id, offerVO);
+            }
+        }
+        return offerVO;
+    }
+
+    /**
+     * 失效指定ID的缓存
+     *
+     * @param ids Offer ID 列表
+     */
+    public void invalidate(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        writeVersion.incrementAndGet();
+        cache.invalidateAll(ids);
+    }
+
+    /**
+     * 失效其他实例写入的Offer：按 (更新时间, ID) 分批读取水位减去重叠时间之后更新的ID
+     * 重叠时间内的记录每次轮询都会再次失效，结果与只失效一次相同
+     */
+    @Scheduled(fixedDelayString = "${app.cache.offer.sync-millis:5000}")
+    public void syncRemoteWrites() {
+        LocalDateTime latest = watermark;
+        LocalDateTime afterUpdatedAt = latest.minusSeconds(syncOverlapSeconds);
+        long afterId = 0;
+        List<Offer> batch;
+        do {
+            batch = offerRepository.findUpdatedIdsAfter(afterUpdatedAt, afterId, syncBatchSize);
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (Offer offer : batch) {
+                ids.add(offer.getId());
+            }
+            invalidate(ids);
+            if (!batch.isEmpty()) {
+                Offer last = batch.get(batch.size() - 1);
+                afterUpdatedAt = last.getUpdatedAt();
+                afterId = last.getId();
+                if (afterUpdatedAt.isAfter(latest)) {
+                    latest = afterUpdatedAt;
+                }
+            }
+        } while (batch.size() == syncBatchSize);
+        watermark = latest;
+    }
+
+    /**
+     * 估算 OfferVO 占用的内存 (字节)，字符串按每字符2字节计算
+     *
+     * @param offerVO OfferVO
+     * @return 估算字节数
+     */
+    private int estimateSize(OfferVO offerVO) {
+        long size = 256;
+        size += sizeOf(offerVO.getCompanyName());
+        size += sizeOf(offerVO.getPosition());
+        size += sizeOf(offerVO.getCity());
+        size += sizeOf(offerVO.getJobDescription());
+        size += sizeOf(offerVO.getInterviewProcess());
+        size += sizeOf(offerVO.getRejectReason());
+        if (offerVO.getSalaryStructure() != null) {
+            size += 40;
+            Map<String, String> extraFields = offerVO.getSalaryStructure().getExtraFields();
+            if (extraFields != null) {
+                for (Map.Entry<String, String> entry : extraFields.entrySet()) {
+                    size += sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+                }
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private long sizeOf(String value) {
+        return value == null ? 0 : 40L + value.length() * 2L;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,467 @@
+package com.offershow.service;
+
+import com.offershow.model.entity.Offer;
+import com.offershow.repository.OfferRepository;
+import com.offershow.util.PageCursor;
+import com.offershow.util.SearchTokenizer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Offer 检索倒排索引
+ * 对公司名称、职位名称、工作城市和工作描述 (只取前若干个字符) 建立进程内倒排索引，替代前缀通配 LIKE 的全表扫描。
+ * 倒排表使用压缩位图 (Roaring Bitmap) 保存 Offer ID；倒排项总数超过上限时放弃索引，关键词搜索回退到数据库查询。
+ * 应用启动后全量构建，之后由本节点 OfferService 的写操作在事务提交后增量维护；
+ * 其他节点的写操作通过定时轮询 (更新时间, ID) 水位之后更新的记录同步，每次轮询回看一段重叠时间，覆盖提交顺序与更新时间不一致的事务和节点间的时钟偏差。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OfferSearchIndex {
+
+    /**
+     * 结果排序：创建时间倒序，相同时按ID倒序
+     */
+    private static final Comparator<Hit> NEWEST_FIRST = Comparator.comparingLong(Hit::getCreatedAt)
+            .thenComparingLong(Hit::getId)
+            .reversed();
+
+    /**
+     * 位图按无符号32位整数保存Offer ID，可索引的最大ID
+     */
+    private static final long MAX_DOC_ID = 0xFFFFFFFFL;
+
+    private final OfferRepository offerRepository;
+
+    @Value("${app.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.index.description-max-chars:200}")
+    private int descriptionMaxChars;
+
+    @Value("${app.search.index.max-postings:50000000}")
+    private long maxPostings;
+
+    @Value("${app.search.index.catch-up-overlap-seconds:120}")
+    private long catchUpOverlapSeconds;
+
+    @Value("${app.search.index.catch-up-batch-size:1000}")
+    private int catchUpBatchSize;
+
+    /**
+     * 词项 -> 包含该词项的Offer ID，位图只在持有本对象锁时读写
+     */
+    private final ConcurrentSkipListMap<String, RoaringBitmap> postings = new ConcurrentSkipListMap<>();
+
+    /**
+     * Offer ID -> 已索引的文档
+     */
+    private final ConcurrentHashMap<Long, IndexedDocument> documents = new ConcurrentHashMap<>();
+
+    /**
+     * 全量构建期间被写操作修改过的ID，构建时跳过，避免用旧快照覆盖新数据
+     */
+    private final Set<Long> touchedDuringRebuild = new HashSet<>();
+
+    private boolean rebuilding;
+
+    /**
+     * 倒排项总数
+     */
+    private long postingCount;
+
+    /**
+     * 是否因超出内存预算而放弃索引，直到下次全量构建
+     */
+    private boolean exceeded;
+
+    private volatile boolean ready;
+
+    /**
+     * 已同步到的最近更新时间
+     */
+    private volatile LocalDateTime watermark;
+
+    /**
+     * 索引是否可用，不可用时调用方应回退到数据库查询
+     *
+     * @return 是否可用
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * 全量构建索引
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            log.info("Offer search index is disabled, keyword search will use the database");
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        synchronized (this) {
+            ready = false;
+            rebuilding = true;
+            exceeded = false;
+            touchedDuringRebuild.clear();
+            clear();
+        }
+
+        try {
+            // 构建前记录水位，构建期间其他节点的写操作由之后的轮询补上
+            LocalDateTime latestUpdatedAt = offerRepository.findLatestUpdatedAt();
+            watermark = latestUpdatedAt == null ? LocalDateTime.now() : latestUpdatedAt;
+            offerRepository.streamSearchDocuments(context -> {
+                Offer offer = context.getResultObject();
+                synchronized (this) {
+                    if (exceeded) {
+                        context.stop();
+                    } else if (!touchedDuringRebuild.contains(offer.getId())) {
+                        addDocument(offer);
+                    }
+                }
+            });
+            synchronized (this) {
+                if (exceeded) {
+                    return;
+                }
+                ready = true;
+                log.info("Offer search index built: {} documents, {} terms, {} postings in {} ms",
+                        documents.size(), postings.size(), postingCount, System.currentTimeMillis() - startTime);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to build offer search index, keyword search will use the database", e);
+        } finally {
+            synchronized (this) {
+                rebuilding = false;
+                touchedDuringRebuild.clear();
+            }
+        }
+    }
+
+    /**
+     * 同步其他节点的写操作：按 (更新时间, ID) 分批读取水位减去重叠时间之后更新的记录，已删除的记录从索引中移除
+     * 重叠时间内的记录每次轮询都会重新索引，结果与只索引一次相同
+     */
+    @Scheduled(fixedDelayString = "${app.search.index.catch-up-millis:10000}")
+    public void catchUp() {
+        if (!isReady()) {
+            return;
+        }
+
+        LocalDateTime latest = watermark;
+        LocalDateTime afterUpdatedAt = latest.minusSeconds(catchUpOverlapSeconds);
+        long afterId = 0;
+        List<Offer> batch;
+        do {
+            batch = offerRepository.findSearchDocumentsUpdatedAfter(afterUpdatedAt, afterId, catchUpBatchSize);
+            for (Offer offer : batch) {
+                index(offer);
+            }
+            if (!batch.isEmpty()) {
+                Offer last = batch.get(batch.size() - 1);
+                afterUpdatedAt = last.getUpdatedAt();
+                afterId = last.getId();
+                if (afterUpdatedAt.isAfter(latest)) {
+                    latest = afterUpdatedAt;
+                }
+            }
+        } while (batch.size() == catchUpBatchSize && isReady());
+        watermark = latest;
+    }
+
+    /**
+     * 新增或更新Offer的索引
+     *
+     * @param offer Offer实体
+     */
+    public void index(Offer offer) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            if (exceeded) {
+                return;
+            }
+            markTouched(offer.getId());
+            removeDocument(offer.getId());
+            if (!Boolean.TRUE.equals(offer.getIsDeleted())) {
+                addDocument(offer);
+            }
+        }
+    }
+
+    /**
+     * 移除Offer的索引
+     *
+     * @param id Offer ID
+     */
+    public void remove(Long id) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (this) {
+            if (exceeded) {
+                return;
+            }
+            markTouched(id);
+            removeDocument(id);
+        }
+    }
+
+    /**
+     * 按关键词检索
+     *
+     * @param keyword 关键词
+     * @param offset  偏移量
+     * @param limit   限制数量
+     * @return 检索结果；关键词中没有可检索的字符时返回null
+     */
+    public SearchResult search(String keyword, int offset, int limit) {
+        RoaringBitmap matched = match(keyword);
+        if (matched == null) {
+            return null;
+        }
+
+        List<Long> ids = topNewest(matched, null, offset + limit);
+        List<Long> pageIds = offset >= ids.size()
+                ? Collections.emptyList()
+                : new ArrayList<>(ids.subList(offset, ids.size()));
+        return new SearchResult(matched.getCardinality(), pageIds);
+    }
+
+    /**
+     * 按关键词检索游标之后的记录 (keyset 分页)
+     *
+     * @param keyword 关键词
+     * @param cursor  游标，为null时从第一条开始
+     * @param limit   限制数量
+     * @return 检索结果；关键词中没有可检索的字符时返回null
+     */
+    public SearchResult searchAfter(String keyword, PageCursor cursor, int limit) {
+        RoaringBitmap matched = match(keyword);
+        if (matched == null) {
+            return null;
+        }
+
+        Hit after = cursor == null ? null : new Hit(cursor.getId(), toEpochMilli(cursor.getCreatedAt()));
+        return new SearchResult(matched.getCardinality(), topNewest(matched, after, limit));
+    }
+
+    /**
+     * 求所有查询词项命中的Offer ID交集
+     *
+     * @param keyword 关键词
+     * @return 命中的ID位图 (新建的副本)；没有可检索的词项时返回null
+     */
+    private RoaringBitmap match(String keyword) {
+        List<SearchTokenizer.QueryTerm> terms = SearchTokenizer.tokenizeQuery(keyword);
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        synchronized (this) {
+            List<RoaringBitmap> termPostings = new ArrayList<>(terms.size());
+            for (SearchTokenizer.QueryTerm term : terms) {
+                RoaringBitmap ids = term.isPrefix()
+                        ? RoaringBitmap.or(postings.subMap(term.getTerm(), term.getTerm() + Character.MAX_VALUE).values().iterator())
+                        : postings.get(term.getTerm());
+                if (ids == null || ids.isEmpty()) {
+                    return new RoaringBitmap();
+                }
+                termPostings.add(ids);
+            }
+
+            // 从最短的倒排表开始求交集
+            termPostings.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            RoaringBitmap result = termPostings.get(0).clone();
+            for (int i = 1; i < termPostings.size() && !result.isEmpty(); i++) {
+                result.and(termPostings.get(i));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 取创建时间最新的前 n 个ID
+     *
+     * @param ids   ID位图
+     * @param after 只取排在该记录之后的ID，为null时不限制
+     * @param n     数量
+     * @return 按创建时间倒序排列的ID
+     */
+    private List<Long> topNewest(RoaringBitmap ids, Hit after, int n) {
+        if (n <= 0) {
+            return Collections.emptyList();
+        }
+
+        // 小顶堆保留最新的 n 条，堆顶为其中最旧的一条
+        PriorityQueue<Hit> heap = new PriorityQueue<>(Math.min(n, ids.getCardinality()) + 1, NEWEST_FIRST.reversed());
+        for (IntIterator iterator = ids.getIntIterator(); iterator.hasNext(); ) {
+            long id = Integer.toUnsignedLong(iterator.next());
+            IndexedDocument document = documents.get(id);
+            if (document == null) {
+                continue;
+            }
+            Hit hit = new Hit(id, document.getCreatedAt());
+            if (after != null && NEWEST_FIRST.compare(hit, after) <= 0) {
+                continue;
+            }
+            heap.offer(hit);
+            if (heap.size() > n) {
+                heap.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(heap);
+        hits.sort(NEWEST_FIRST);
+        List<Long> result = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            result.add(hit.getId());
+        }
+        return result;
+    }
+
+    private void markTouched(Long id) {
+        if (rebuilding) {
+            touchedDuringRebuild.add(id);
+        }
+    }
+
+    /**
+     * 添加文档，ID超出位图范围或倒排项总数超过上限时放弃整个索引
+     *
+     * @param offer Offer实体
+     */
+    private void addDocument(Offer offer) {
+        if (offer.getId() > MAX_DOC_ID) {
+            giveUp("offer id " + offer.getId() + " exceeds the bitmap range");
+            return;
+        }
+
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(SearchTokenizer.tokenize(offer.getCompanyName()));
+        tokens.addAll(SearchTokenizer.tokenize(offer.getPosition()));
+        tokens.addAll(SearchTokenizer.tokenize(offer.getCity()));
+        // 工作描述只索引前若干个字符，限制长文本产生的大量单字和二元组
+        tokens.addAll(SearchTokenizer.tokenize(StringUtils.left(offer.getJobDescription(), descriptionMaxChars)));
+
+        int docId = (int) offer.getId().longValue();
+        for (String token : tokens) {
+            if (postings.computeIfAbsent(token, key -> new RoaringBitmap()).checkedAdd(docId)) {
+                postingCount++;
+            }
+        }
+        documents.put(offer.getId(), new IndexedDocument(toEpochMilli(offer.getCreatedAt()), tokens.toArray(new String[0])));
+
+        if (postingCount > maxPostings) {
+            giveUp(postingCount + " postings exceed the limit of " + maxPostings);
+        }
+    }
+
+    /**
+     * 放弃索引并释放内存，关键词搜索回退到数据库查询，直到下次全量构建
+     *
+     * @param reason 原因
+     */
+    private void giveUp(String reason) {
+        log.warn("Offer search index disabled, keyword search will use the database: {}", reason);
+        exceeded = true;
+        ready = false;
+        clear();
+    }
+
+    private void clear() {
+        postings.clear();
+        documents.clear();
+        postingCount = 0;
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime == null ? 0L : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private void removeDocument(Long id) {
+        IndexedDocument document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+
+        int docId = (int) id.longValue();
+        for (String token : document.getTokens()) {
+            RoaringBitmap ids = postings.get(token);
+            if (ids != null && ids.checkedRemove(docId)) {
+                postingCount--;
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * 检索结果
+     */
+    @Data
+    @AllArgsConstructor
+    public static class SearchResult {
+        /**
+         * 命中总数
+         */
+        private int total;
+
+        /**
+         * 当前页的Offer ID，按创建时间倒序
+         */
+        private List<Long> ids;
+    }
+
+    /**
+     * 已索引的文档
+     */
+    @Data
+    @AllArgsConstructor
+    private static class IndexedDocument {
+        private long createdAt;
+        private String[] tokens;
+    }
+
+    /**
+     * 排序用的命中记录
+     */
+    @Data
+    @AllArgsConstructor
+    private static class Hit {
+        private long id;
+        private long createdAt;
+    }
+}
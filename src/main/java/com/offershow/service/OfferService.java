@@ -1,6 +1,7 @@
 package com.offershow.service;
 
 import com.offershow.model.dto.OfferDTO;
+import com.offershow.model.vo.BatchResultVO;
 import com.offershow.model.vo.OfferVO;
 import com.offershow.model.vo.PageVO;
 
@@ -57,18 +58,30 @@ public interface OfferService {
      *
      * @param keyword 关键词
      * @param page    页码
-     * @param size    每页大小
+     * @param size      每页大小
+     * @param skipTotal 是否跳过总数统计，跳过时总数和总页数返回-1
      * @return 分页结果
      */
-    PageVO<OfferVO> searchOffers(String keyword, int page, int size);
+    PageVO<OfferVO> searchOffers(String keyword, int page, int size, boolean skipTotal);
+
+    /**
+     * 按游标搜索 Offer
+     *
+     * @param keyword 关键词
+     * @param cursor  分页游标，为空时返回第一页
+     * @param size      每页大小
+     * @param skipTotal 是否跳过总数统计，跳过时总数和总页数返回-1
+     * @return 分页结果
+     */
+    PageVO<OfferVO> searchOffersByCursor(String keyword, String cursor, int size, boolean skipTotal);
 
     /**
      * 批量创建 Offer
      *
      * @param offerDTOs Offer DTO 列表
-     * @return 创建后的 Offer 列表
+     * @return 批处理结果，失败记录中的 index 为该记录在 offerDTOs 中的下标
      */
-    List<OfferVO> batchCreateOffers(List<OfferDTO> offerDTOs);
+    BatchResultVO<OfferVO> batchCreateOffers(List<OfferDTO> offerDTOs);
 
     /**
      * 批量删除 Offer
@@ -1,23 +1,40 @@
 package com.offershow.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.offershow.exception.BusinessException;
 import com.offershow.exception.ResourceNotFoundException;
 import com.offershow.model.dto.OfferDTO;
 import com.offershow.model.entity.Offer;
+import com.offershow.model.entity.SalaryStructure;
+import com.offershow.model.vo.BatchResultVO;
 import com.offershow.model.vo.OfferVO;
 import com.offershow.model.vo.PageVO;
 import com.offershow.repository.OfferRepository;
+import com.offershow.util.BatchUtils;
+import com.offershow.util.PageCursor;
+import com.offershow.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -29,150 +46,164 @@ import java.util.stream.Collectors;
 public class OfferServiceImpl implements OfferService {
 
     private final OfferRepository offerRepository;
-    private final ObjectMapper objectMapper;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final OfferSearchIndex offerSearchIndex;
+    private final OfferCountCache offerCountCache;
+    private final OfferDetailCache offerDetailCache;
+    private final RunningSalaryStatistics runningSalaryStatistics;
+
+    /**
+     * 批量插入方式 (multi-row: 单条多值INSERT；jdbc-batch: JDBC批处理，配合 rewriteBatchedStatements 使用)
+     */
+    @Value("${app.batch.insert.mode:multi-row}")
+    private String batchInsertMode;
+
+    /**
+     * 批量插入时每批的记录数
+     */
+    @Value("${app.batch.insert.chunk-size:500}")
+    private int batchInsertChunkSize;
+
+    /**
+     * 批量删除时每条语句处理的ID数量
+     */
+    @Value("${app.batch.delete.chunk-size:1000}")
+    private int batchDeleteChunkSize;
 
     @Override
     @Transactional
     public OfferVO createOffer(OfferDTO offerDTO) {
-        try {
-            Offer offer = new Offer();
-            BeanUtils.copyProperties(offerDTO, offer);
-
-            // 转换薪资结构为JSON字符串
-            offer.setSalaryStructure(objectMapper.writeValueAsString(offerDTO.getSalaryStructure()));
+        Offer offer = buildNewOffer(offerDTO, LocalDateTime.now());
 
-            // 设置创建时间和更新时间
-            LocalDateTime now = LocalDateTime.now();
-            offer.setCreatedAt(now);
-            offer.setUpdatedAt(now);
+        // 保存Offer
+        offerRepository.insert(offer);
+        onOffersChanged(Collections.emptyList(), Collections.singletonList(offer), Collections.emptyList());
 
-            // 保存Offer
-            offerRepository.insert(offer);
-
-            return convertToVO(offer);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to convert salary structure to JSON", e);
-            throw new BusinessException("薪资结构格式不正确");
-        }
+        return convertToVO(offer);
     }
 
     @Override
     @Transactional
     public OfferVO updateOffer(Long id, OfferDTO offerDTO) {
-        Offer existingOffer = offerRepository.findById(id);
+        Offer existingOffer = offerRepository.findByIdForUpdate(id);
         if (existingOffer == null || Boolean.TRUE.equals(existingOffer.getIsDeleted())) {
             throw new ResourceNotFoundException("Offer不存在: " + id);
         }
+        RunningSalaryStatistics.Snapshot previous = RunningSalaryStatistics.Snapshot.of(existingOffer);
 
-        try {
-            BeanUtils.copyProperties(offerDTO, existingOffer);
+        BeanUtils.copyProperties(offerDTO, existingOffer);
 
-            // 转换薪资结构为JSON字符串
-            existingOffer.setSalaryStructure(objectMapper.writeValueAsString(offerDTO.getSalaryStructure()));
+        // 设置薪资结构
+        setSalaryStructure(existingOffer, offerDTO.getSalaryStructure());
 
-            // 更新时间
-            existingOffer.setUpdatedAt(LocalDateTime.now());
+        // 更新时间
+        existingOffer.setUpdatedAt(LocalDateTime.now());
 
-            // 更新Offer
-            offerRepository.update(existingOffer);
+        // 更新Offer
+        offerRepository.update(existingOffer);
+        onOffersChanged(Collections.singletonList(previous), Collections.singletonList(existingOffer), Collections.emptyList());
 
-            return convertToVO(existingOffer);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to convert salary structure to JSON", e);
-            throw new BusinessException("薪资结构格式不正确");
-        }
+        return convertToVO(existingOffer);
     }
 
     @Override
     @Transactional
     public OfferVO patchOffer(Long id, OfferDTO offerDTO) {
-        Offer existingOffer = offerRepository.findById(id);
+        Offer existingOffer = offerRepository.findByIdForUpdate(id);
         if (existingOffer == null || Boolean.TRUE.equals(existingOffer.getIsDeleted())) {
             throw new ResourceNotFoundException("Offer不存在: " + id);
         }
+        RunningSalaryStatistics.Snapshot previous = RunningSalaryStatistics.Snapshot.of(existingOffer);
 
-        try {
-            // 只更新非null字段
-            if (offerDTO.getCompanyName() != null) {
-                existingOffer.setCompanyName(offerDTO.getCompanyName());
-            }
-            if (offerDTO.getPosition() != null) {
-                existingOffer.setPosition(offerDTO.getPosition());
-            }
-            if (offerDTO.getCity() != null) {
-                existingOffer.setCity(offerDTO.getCity());
-            }
-            if (offerDTO.getSalaryStructure() != null) {
-                existingOffer.setSalaryStructure(objectMapper.writeValueAsString(offerDTO.getSalaryStructure()));
-            }
-            if (offerDTO.getWorkYears() != null) {
-                existingOffer.setWorkYears(offerDTO.getWorkYears());
-            }
-            if (offerDTO.getJobDescription() != null) {
-                existingOffer.setJobDescription(offerDTO.getJobDescription());
-            }
-            if (offerDTO.getInterviewProcess() != null) {
-                existingOffer.setInterviewProcess(offerDTO.getInterviewProcess());
-            }
-            if (offerDTO.getInterviewDifficulty() != null) {
-                existingOffer.setInterviewDifficulty(offerDTO.getInterviewDifficulty());
-            }
-            if (offerDTO.getIsAccepted() != null) {
-                existingOffer.setIsAccepted(offerDTO.getIsAccepted());
-            }
-            if (offerDTO.getRejectReason() != null) {
-                existingOffer.setRejectReason(offerDTO.getRejectReason());
-            }
+        // 只更新非null字段
+        if (offerDTO.getCompanyName() != null) {
+            existingOffer.setCompanyName(offerDTO.getCompanyName());
+        }
+        if (offerDTO.getPosition() != null) {
+            existingOffer.setPosition(offerDTO.getPosition());
+        }
+        if (offerDTO.getCity() != null) {
+            existingOffer.setCity(offerDTO.getCity());
+        }
+        if (offerDTO.getSalaryStructure() != null) {
+            setSalaryStructure(existingOffer, offerDTO.getSalaryStructure());
+        }
+        if (offerDTO.getWorkYears() != null) {
+            existingOffer.setWorkYears(offerDTO.getWorkYears());
+        }
+        if (offerDTO.getJobDescription() != null) {
+            existingOffer.setJobDescription(offerDTO.getJobDescription());
+        }
+        if (offerDTO.getInterviewProcess() != null) {
+            existingOffer.setInterviewProcess(offerDTO.getInterviewProcess());
+        }
+        if (offerDTO.getInterviewDifficulty() != null) {
+            existingOffer.setInterviewDifficulty(offerDTO.getInterviewDifficulty());
+        }
+        if (offerDTO.getIsAccepted() != null) {
+            existingOffer.setIsAccepted(offerDTO.getIsAccepted());
+        }
+        if (offerDTO.getRejectReason() != null) {
+            existingOffer.setRejectReason(offerDTO.getRejectReason());
+        }
 
-            // 更新时间
-            existingOffer.setUpdatedAt(LocalDateTime.now());
+        // 更新时间
+        existingOffer.setUpdatedAt(LocalDateTime.now());
 
-            // 更新Offer
-            offerRepository.update(existingOffer);
+        // 更新Offer
+        offerRepository.update(existingOffer);
+        onOffersChanged(Collections.singletonList(previous), Collections.singletonList(existingOffer), Collections.emptyList());
 
-            return convertToVO(existingOffer);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to convert salary structure to JSON", e);
-            throw new BusinessException("薪资结构格式不正确");
-        }
+        return convertToVO(existingOffer);
     }
 
     @Override
     public OfferVO getOfferById(Long id) {
-        Offer offer = offerRepository.findById(id);
-        if (offer == null || Boolean.TRUE.equals(offer.getIsDeleted())) {
+        OfferVO offerVO = offerDetailCache.get(id, () -> {
+            Offer offer = offerRepository.findById(id);
+            return offer == null || Boolean.TRUE.equals(offer.getIsDeleted()) ? null : convertToVO(offer);
+        });
+        if (offerVO == null) {
             throw new ResourceNotFoundException("Offer不存在: " + id);
         }
 
-        return convertToVO(offer);
+        return offerVO;
     }
 
     @Override
     @Transactional
     public boolean deleteOffer(Long id) {
-        Offer offer = offerRepository.findById(id);
+        Offer offer = offerRepository.findByIdForUpdate(id);
         if (offer == null || Boolean.TRUE.equals(offer.getIsDeleted())) {
             throw new ResourceNotFoundException("Offer不存在: " + id);
         }
+        RunningSalaryStatistics.Snapshot previous = RunningSalaryStatistics.Snapshot.of(offer);
 
         // 逻辑删除
         offer.setIsDeleted(true);
         offer.setUpdatedAt(LocalDateTime.now());
         offerRepository.update(offer);
+        onOffersChanged(Collections.singletonList(previous), Collections.emptyList(), Collections.singletonList(id));
 
         return true;
     }
 
     @Override
-    public PageVO<OfferVO> searchOffers(String keyword, int page, int size) {
-        // 获取总记录数
-        int total = offerRepository.countByKeyword(keyword);
-
-        // 计算总页数
-        int pages = (total + size - 1) / size;
-
-        // 查询数据
-        List<Offer> offers = offerRepository.findByKeyword(keyword, (page - 1) * size, size);
+    public PageVO<OfferVO> searchOffers(String keyword, int page, int size, boolean skipTotal) {
+        OfferCountCache.Count total;
+        List<Offer> offers;
+
+        // 有关键词时优先使用倒排索引，索引不可用时回退到数据库查询
+        OfferSearchIndex.SearchResult searchResult = StringUtils.isNotBlank(keyword) && offerSearchIndex.isReady()
+                ? offerSearchIndex.search(keyword, (page - 1) * size, size)
+                : null;
+        if (searchResult != null) {
+            total = new OfferCountCache.Count(searchResult.getTotal(), false);
+            offers = findByIdsInOrder(searchResult.getIds());
+        } else {
+            total = skipTotal ? null : offerCountCache.count(keyword);
+            offers = offerRepository.findByKeyword(keyword, (page - 1) * size, size);
+        }
 
         // 转换为VO
         List<OfferVO> offerVOs = offers.stream()
@@ -180,53 +211,299 @@ public class OfferServiceImpl implements OfferService {
                 .collect(Collectors.toList());
 
         // 构建分页结果
-        return PageVO.<OfferVO>builder()
-                .total(total)
-                .pages(pages)
+        return buildPage(skipTotal ? null : total, size)
                 .current(page)
-                .size(size)
                 .records(offerVOs)
                 .build();
     }
 
+    @Override
+    public PageVO<OfferVO> searchOffersByCursor(String keyword, String cursor, int size, boolean skipTotal) {
+        PageCursor after = StringUtils.isBlank(cursor) ? null : PageCursor.decode(cursor);
+        OfferCountCache.Count total;
+        boolean hasMore;
+        List<Offer> offers;
+
+        // 多取一条用于判断是否还有下一页
+        OfferSearchIndex.SearchResult searchResult = StringUtils.isNotBlank(keyword) && offerSearchIndex.isReady()
+                ? offerSearchIndex.searchAfter(keyword, after, size + 1)
+                : null;
+        if (searchResult != null) {
+            total = new OfferCountCache.Count(searchResult.getTotal(), false);
+            List<Long> ids = searchResult.getIds();
+            hasMore = ids.size() > size;
+            offers = findByIdsInOrder(hasMore ? ids.subList(0, size) : ids);
+        } else {
+            total = skipTotal ? null : offerCountCache.count(keyword);
+            offers = offerRepository.findByKeywordAfter(keyword,
+                    after == null ? null : after.getCreatedAt(),
+                    after == null ? null : after.getId(),
+                    size + 1);
+            hasMore = offers.size() > size;
+            if (hasMore) {
+                offers = offers.subList(0, size);
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore && !offers.isEmpty()) {
+            Offer last = offers.get(offers.size() - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<OfferVO> offerVOs = offers.stream()
+                .map(this::convertToVO)
+                .collect(Collectors.toList());
+
+        return buildPage(skipTotal ? null : total, size)
+                .records(offerVOs)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * 构建分页结果的总数部分
+     *
+     * @param total 总数，为null表示未统计，此时总数和总页数返回-1
+     * @param size  每页大小
+     * @return 分页结果构建器
+     */
+    private PageVO.PageVOBuilder<OfferVO> buildPage(OfferCountCache.Count total, int size) {
+        if (total == null) {
+            return PageVO.<OfferVO>builder()
+                    .total(-1)
+                    .pages(-1)
+                    .size(size);
+        }
+        return PageVO.<OfferVO>builder()
+                .total(total.getValue())
+                .totalEstimated(total.isEstimated())
+                .pages((int) ((total.getValue() + size - 1) / size))
+                .size(size);
+    }
+
     @Override
     @Transactional
-    public List<OfferVO> batchCreateOffers(List<OfferDTO> offerDTOs) {
-        List<OfferVO> results = new ArrayList<>();
+    public BatchResultVO<OfferVO> batchCreateOffers(List<OfferDTO> offerDTOs) {
+        List<Map<String, Object>> failedRecords = new ArrayList<>();
+        List<Offer> offers = new ArrayList<>(offerDTOs.size());
+        List<Integer> offerIndexes = new ArrayList<>(offerDTOs.size());
+
+        // 转换为实体，转换失败的记录直接计入失败
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < offerDTOs.size(); i++) {
+            try {
+                offers.add(buildNewOffer(offerDTOs.get(i), now));
+                offerIndexes.add(i);
+            } catch (BusinessException e) {
+                failedRecords.add(buildFailedRecord(i, offerDTOs.get(i), e.getMessage()));
+            }
+        }
 
-        for (OfferDTO offerDTO : offerDTOs) {
+        // 分批写入
+        List<OfferVO> successRecords = new ArrayList<>(offers.size());
+        List<Offer> createdOffers = new ArrayList<>(offers.size());
+        TransactionStatus transactionStatus = TransactionAspectSupport.currentTransactionStatus();
+        for (int from = 0; from < offers.size(); from += batchInsertChunkSize) {
+            int to = Math.min(from + batchInsertChunkSize, offers.size());
+            List<Offer> chunk = offers.subList(from, to);
+
+            Object savepoint = transactionStatus.createSavepoint();
             try {
-                OfferVO offerVO = createOffer(offerDTO);
-                results.add(offerVO);
-            } catch (Exception e) {
-                log.error("Failed to create offer: {}", offerDTO, e);
-                // 继续处理下一个，不中断批处理
+                insertChunk(chunk);
+                transactionStatus.releaseSavepoint(savepoint);
+                for (Offer offer : chunk) {
+                    successRecords.add(convertToVO(offer));
+                    createdOffers.add(offer);
+                }
+            } catch (RuntimeException e) {
+                // 整批失败时回滚到保存点，再逐条写入以定位失败记录
+                log.warn("Failed to insert {} offers in batch, retrying one by one", chunk.size(), e);
+                transactionStatus.rollbackToSavepoint(savepoint);
+                for (int i = from; i < to; i++) {
+                    Offer offer = offers.get(i);
+                    offer.setId(null);
+                    try {
+                        offerRepository.insert(offer);
+                        successRecords.add(convertToVO(offer));
+                        createdOffers.add(offer);
+                    } catch (RuntimeException rowError) {
+                        log.error("Failed to create offer: {}", offerDTOs.get(offerIndexes.get(i)), rowError);
+                        failedRecords.add(buildFailedRecord(offerIndexes.get(i), offerDTOs.get(offerIndexes.get(i)), rowError.getMessage()));
+                    }
+                }
             }
         }
 
-        return results;
+        onOffersChanged(Collections.emptyList(), createdOffers, Collections.emptyList());
+        failedRecords.sort(Comparator.comparing(record -> (Integer) record.get("index")));
+
+        return BatchResultVO.<OfferVO>builder()
+                .successCount(successRecords.size())
+                .failedCount(failedRecords.size())
+                .successRecords(successRecords)
+                .failedRecords(failedRecords)
+                .build();
     }
 
     @Override
     @Transactional
     public List<Long> batchDeleteOffers(List<Long> ids) {
-        List<Long> successIds = new ArrayList<>();
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
 
-        for (Long id : ids) {
-            try {
-                boolean success = deleteOffer(id);
-                if (success) {
-                    successIds.add(id);
-                }
-            } catch (Exception e) {
-                log.error("Failed to delete offer: {}", id, e);
-                // 继续处理下一个，不中断批处理
+        // 加锁预读一次确定哪些ID存在且未删除，并发删除同一记录时后到的事务等待并视为不存在
+        Set<Long> existingIds = new HashSet<>();
+        List<RunningSalaryStatistics.Snapshot> previous = new ArrayList<>();
+        for (List<Long> chunk : BatchUtils.partition(distinctIds, batchDeleteChunkSize)) {
+            for (Offer offer : offerRepository.findByIdsForUpdate(chunk)) {
+                existingIds.add(offer.getId());
+                previous.add(RunningSalaryStatistics.Snapshot.of(offer));
             }
         }
 
+        List<Long> successIds = distinctIds.stream()
+                .filter(existingIds::contains)
+                .collect(Collectors.toList());
+
+        // 按集合逻辑删除
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Long> chunk : BatchUtils.partition(successIds, batchDeleteChunkSize)) {
+            offerRepository.softDeleteByIds(chunk, now);
+        }
+        onOffersChanged(previous, Collections.emptyList(), successIds);
+
         return successIds;
     }
 
+    /**
+     * 根据ID列表查询Offer，并按ID列表的顺序返回
+     *
+     * @param ids Offer ID列表
+     * @return Offer列表，已删除或不存在的记录会被跳过
+     */
+    private List<Offer> findByIdsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Offer> offersById = new HashMap<>();
+        for (Offer offer : offerRepository.findByIds(ids)) {
+            offersById.put(offer.getId(), offer);
+        }
+
+        List<Offer> offers = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Offer offer = offersById.get(id);
+            if (offer != null) {
+                offers.add(offer);
+            }
+        }
+        return offers;
+    }
+
+    /**
+     * Offer 写入后维护派生数据：实时聚合在当前事务内累加，索引和缓存在事务提交后更新
+     *
+     * @param previous    更新或删除前的快照
+     * @param savedOffers 新增或更新后的Offer
+     * @param deletedIds  被删除的Offer ID
+     */
+    private void onOffersChanged(List<RunningSalaryStatistics.Snapshot> previous, List<Offer> savedOffers, List<Long> deletedIds) {
+        runningSalaryStatistics.record(previous, savedOffers);
+
+        List<Long> changedIds = new ArrayList<>(savedOffers.size() + deletedIds.size());
+        savedOffers.forEach(offer -> changedIds.add(offer.getId()));
+        changedIds.addAll(deletedIds);
+
+        // 事务内先失效一次，提交后再失效一次，清除提交前被并发读取回填的旧数据
+        offerDetailCache.invalidate(changedIds);
+        TransactionUtils.afterCommit(() -> {
+            offerDetailCache.invalidate(changedIds);
+            offerCountCache.invalidateAll();
+            savedOffers.forEach(offerSearchIndex::index);
+            deletedIds.forEach(offerSearchIndex::remove);
+        });
+    }
+
+    /**
+     * 设置薪资结构，同时按生成列的规则填充基本工资、奖金、股票和总薪资，
+     * 使写入后的实体无需重新查询即可直接用于统计
+     *
+     * @param offer           Offer实体
+     * @param salaryStructure 薪资结构
+     */
+    private void setSalaryStructure(Offer offer, SalaryStructure salaryStructure) {
+        if (salaryStructure == null) {
+            throw new BusinessException("薪资结构不能为空");
+        }
+        offer.setSalaryStructure(salaryStructure);
+        offer.setBaseSalary(salaryStructure.getBaseSalary());
+        offer.setBonus(salaryStructure.getBonus());
+        offer.setStock(salaryStructure.getStock());
+        offer.setTotalComp(salaryStructure.getTotalComp());
+    }
+
+    /**
+     * 根据DTO构建待插入的Offer实体
+     *
+     * @param offerDTO Offer DTO
+     * @param now      创建时间
+     * @return Offer实体
+     */
+    private Offer buildNewOffer(OfferDTO offerDTO, LocalDateTime now) {
+        Offer offer = new Offer();
+        BeanUtils.copyProperties(offerDTO, offer);
+
+        // 设置薪资结构
+        setSalaryStructure(offer, offerDTO.getSalaryStructure());
+
+        // 设置创建时间和更新时间
+        offer.setCreatedAt(now);
+        offer.setUpdatedAt(now);
+
+        return offer;
+    }
+
+    /**
+     * 写入一批Offer并回填主键
+     *
+     * @param offers Offer实体列表
+     */
+    private void insertChunk(List<Offer> offers) {
+        if (!"jdbc-batch".equalsIgnoreCase(batchInsertMode)) {
+            offerRepository.batchInsert(offers);
+            return;
+        }
+
+        // BATCH 执行器与当前事务共用连接，flush 时统一发送并回填主键
+        try (SqlSession batchSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            OfferRepository batchRepository = batchSession.getMapper(OfferRepository.class);
+            for (Offer offer : offers) {
+                batchRepository.insert(offer);
+            }
+            batchSession.flushStatements();
+        }
+    }
+
+    /**
+     * 构建批处理失败记录
+     *
+     * @param index    记录下标
+     * @param offerDTO Offer DTO
+     * @param message  失败原因
+     * @return 失败记录
+     */
+    private Map<String, Object> buildFailedRecord(int index, OfferDTO offerDTO, String message) {
+        Map<String, Object> failedRecord = new HashMap<>();
+        failedRecord.put("index", index);
+        failedRecord.put("record", offerDTO);
+        failedRecord.put("message", message);
+        return failedRecord;
+    }
+
     /**
      * 将实体对象转换为视图对象
      *
@@ -236,17 +513,6 @@ public class OfferServiceImpl implements OfferService {
     private OfferVO convertToVO(Offer offer) {
         OfferVO offerVO = new OfferVO();
         BeanUtils.copyProperties(offer, offerVO);
-
-        try {
-            // 转换JSON字符串为对象
-            if (offer.getSalaryStructure() != null) {
-                offerVO.setSalaryStructure(objectMapper.readValue(offer.getSalaryStructure(), Object.class));
-            }
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse salary structure", e);
-            offerVO.setSalaryStructure(null);
-        }
-
         return offerVO;
     }
 }
\ No newline at end of file
@@ -0,0 +1,364 @@
+package com.offershow.service;
+
+import com.offershow.model.entity.Offer;
+import com.offershow.model.entity.RunningStatistics;
+import com.offershow.model.entity.RunningStatisticsSeed;
+import com.offershow.repository.OfferRepository;
+import com.offershow.repository.RunningStatisticsRepository;
+import com.offershow.task.JobCoordinator;
+import com.offershow.task.SalaryAccumulator;
+import com.offershow.task.SalaryAggregator;
+import com.offershow.util.BatchUtils;
+import com.offershow.util.SalaryParser;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 薪资实时聚合
+ * 按Offer创建日期分桶维护公司、职位、城市维度的样本数和薪资总和，
+ * 在Offer写操作的同一事务内累加增量 (更新和删除先撤销旧值)，夜间任务只需读取已完成的分桶。
+ * 总体不单独存储分桶：每个Offer恰好属于一个城市，读取时由城市维度汇总得到，避免所有写操作争用同一行的锁。
+ * 增量按主键顺序写入，多行写操作之间以相同顺序加锁，不会互相死锁。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RunningSalaryStatistics {
+
+    public static final String DIMENSION_ALL = "ALL";
+    public static final String DIMENSION_COMPANY = "COMPANY";
+    public static final String DIMENSION_POSITION = "POSITION";
+    public static final String DIMENSION_CITY = "CITY";
+
+    private static final String SEED_JOB_NAME = "runningStatisticsSeed";
+    private static final String SEED_OCCURRENCE = "initial";
+
+    /**
+     * 分桶主键顺序，维度值按 MySQL 默认排序规则不区分大小写
+     */
+    private static final Comparator<RunningStatistics> PRIMARY_KEY_ORDER = Comparator
+            .comparing(RunningStatistics::getBucketDate)
+            .thenComparing(RunningStatistics::getDimension)
+            .thenComparing(RunningStatistics::getDimensionValue, String.CASE_INSENSITIVE_ORDER);
+
+    private final RunningStatisticsRepository runningStatisticsRepository;
+    private final OfferRepository offerRepository;
+    private final JobCoordinator jobCoordinator;
+
+    /**
+     * 通过代理调用自身的事务方法
+     */
+    @Lazy
+    @Autowired
+    private RunningSalaryStatistics self;
+
+    @Value("${app.statistics.running.upsert-chunk-size:500}")
+    private int upsertChunkSize;
+
+    @Value("${app.retention.running-statistics-days:90}")
+    private int runningStatisticsDays;
+
+    /**
+     * 记录Offer变更，需在写入Offer的事务内调用
+     * 超出保留期的分桶已被清理，不再累加，否则撤销旧值会重新创建样本数为负的分桶；读取这些日期时会先从原始数据重算
+     *
+     * @param retracted 变更前的快照 (更新和删除的Offer)
+     * @param saved     新增或更新后的Offer
+     */
+    public void record(List<Snapshot> retracted, List<Offer> saved) {
+        LocalDate retainedFrom = retainedFrom();
+        Map<String, RunningStatistics> deltas = new LinkedHashMap<>();
+        for (Snapshot snapshot : retracted) {
+            if (snapshot != null && !snapshot.getBucketDate().isBefore(retainedFrom)) {
+                apply(deltas, snapshot, -1);
+            }
+        }
+        for (Offer offer : saved) {
+            Snapshot snapshot = Snapshot.of(offer);
+            if (snapshot != null && !snapshot.getBucketDate().isBefore(retainedFrom)) {
+                apply(deltas, snapshot, 1);
+            }
+        }
+
+        // 增减相互抵消的分桶不需要写入
+        List<RunningStatistics> changed = new ArrayList<>(deltas.size());
+        for (RunningStatistics delta : deltas.values()) {
+            if (delta.getSampleCount() != 0 || delta.getValueCount() != 0 || delta.getValueSumCents() != 0) {
+                changed.add(delta);
+            }
+        }
+        upsert(changed);
+    }
+
+    /**
+     * 按维度和维度值汇总日期范围内的分桶，总体维度由城市维度汇总得到
+     *
+     * @param startDate  开始日期 (包含)
+     * @param endDate    结束日期 (包含)
+     * @param dimensions 统计维度
+     * @return 统计维度 -> 维度值 -> 累加器
+     */
+    public Map<String, Map<String, SalaryAccumulator>> summarize(LocalDate startDate, LocalDate endDate, String... dimensions) {
+        Map<String, Map<String, SalaryAccumulator>> result = new LinkedHashMap<>();
+        for (String dimension : dimensions) {
+            result.put(dimension, new LinkedHashMap<>());
+        }
+
+        List<String> queried = new ArrayList<>(Arrays.asList(dimensions));
+        boolean withTotal = queried.remove(DIMENSION_ALL);
+        if (withTotal && !queried.contains(DIMENSION_CITY)) {
+            queried.add(DIMENSION_CITY);
+        }
+
+        SalaryAccumulator total = new SalaryAccumulator();
+        for (RunningStatistics row : runningStatisticsRepository.sumByBucketRange(startDate, endDate, queried)) {
+            SalaryAccumulator accumulator = SalaryAccumulator.of(row);
+            if (withTotal && DIMENSION_CITY.equals(row.getDimension())) {
+                total.merge(accumulator);
+            }
+            Map<String, SalaryAccumulator> byValue = result.get(row.getDimension());
+            if (byValue != null) {
+                byValue.put(row.getDimensionValue(), accumulator);
+            }
+        }
+        if (withTotal && total.getCount() > 0) {
+            result.get(DIMENSION_ALL).put(DIMENSION_ALL, total);
+        }
+        return result;
+    }
+
+    /**
+     * 确保分桶包含当天的全部Offer，初始化尚未覆盖该日或该日已超出保留期时先从原始数据重算
+     * 初始化从最早的日期开始，完成前较近日期的分桶只包含部署后的写操作，不能直接用于生成统计
+     *
+     * @param bucketDate 分桶日期
+     */
+    public void ensureSeeded(LocalDate bucketDate) {
+        if (!isSeeded(bucketDate)) {
+            log.info("Running salary statistics for {} are not seeded yet, rebuilding from offers", bucketDate);
+            self.rebuildBucket(bucketDate);
+        }
+    }
+
+    /**
+     * 从原始数据重算一天的分桶
+     * 先删除分桶再读取原始数据：删除持有的锁会阻塞并发写入对该日分桶的累加，直到重算提交
+     *
+     * @param bucketDate 分桶日期
+     */
+    @Transactional
+    public void rebuildBucket(LocalDate bucketDate) {
+        runningStatisticsRepository.deleteByBucketDate(bucketDate);
+
+        String dateStr = bucketDate.format(DateTimeFormatter.ISO_DATE);
+        SalaryAggregator aggregator = new SalaryAggregator();
+        offerRepository.streamSalaryFacts(dateStr + " 00:00:00", dateStr + " 23:59:59",
+                context -> aggregator.accept(context.getResultObject()));
+        if (aggregator.getTotal().getCount() == 0) {
+            return;
+        }
+
+        List<RunningStatistics> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        addRows(rows, bucketDate, DIMENSION_COMPANY, aggregator.getByCompany(), now);
+        addRows(rows, bucketDate, DIMENSION_POSITION, aggregator.getByPosition(), now);
+        addRows(rows, bucketDate, DIMENSION_CITY, aggregator.getByCity(), now);
+        upsert(rows);
+    }
+
+    /**
+     * 启动后从历史数据初始化全部分桶
+     * 进度按天持久化，中断后从下一天继续；通过任务租约保证集群中只有一个节点在初始化。
+     * 初始化前写操作产生的分桶会在重算该日时整体覆盖，因此不以是否已有分桶判断是否需要初始化
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        RunningStatisticsSeed seed = runningStatisticsRepository.findSeed();
+        if (seed != null && seed.getCompletedAt() != null) {
+            return;
+        }
+        jobCoordinator.runExclusivelyWithoutTransaction(SEED_JOB_NAME, SEED_OCCURRENCE, this::seedBuckets);
+    }
+
+    /**
+     * 定期检查初始化是否完成，节点在初始化过程中失联或失败时由其他节点接管
+     */
+    @Scheduled(initialDelayString = "${app.statistics.running.seed-check-millis:600000}",
+            fixedDelayString = "${app.statistics.running.seed-check-millis:600000}")
+    public void resumeSeed() {
+        self.seed();
+    }
+
+    /**
+     * 重算一天的分桶并推进初始化进度，两者在同一事务内提交
+     *
+     * @param bucketDate 分桶日期
+     */
+    @Transactional
+    public void seedBucket(LocalDate bucketDate) {
+        rebuildBucket(bucketDate);
+        runningStatisticsRepository.advanceSeed(bucketDate);
+    }
+
+    private void seedBuckets() {
+        RunningStatisticsSeed seed = runningStatisticsRepository.findSeed();
+        if (seed == null) {
+            // 首次初始化：结束日期固定为今天，之后创建的Offer从一开始就由写操作累加；
+            // 超出保留期的分桶会被清理任务删除，不需要初始化
+            LocalDate today = LocalDate.now();
+            LocalDate retainedFrom = retainedFrom();
+            LocalDateTime earliest = offerRepository.findEarliestCreatedAt();
+            LocalDate seedFrom = today;
+            if (earliest != null) {
+                seedFrom = earliest.toLocalDate().isBefore(retainedFrom) ? retainedFrom : earliest.toLocalDate();
+            }
+            runningStatisticsRepository.insertSeedIfAbsent(seedFrom, today);
+            seed = runningStatisticsRepository.findSeed();
+        }
+
+        LocalDate from = seed.getSeededThrough() == null ? seed.getSeedFrom() : seed.getSeededThrough().plusDays(1);
+        log.info("Seeding running salary statistics from {} to {}", from, seed.getSeedUntil());
+        for (LocalDate date = from; !date.isAfter(seed.getSeedUntil()); date = date.plusDays(1)) {
+            self.seedBucket(date);
+        }
+        runningStatisticsRepository.completeSeed();
+        log.info("Running salary statistics seeded");
+    }
+
+    /**
+     * 分桶是否已完整：初始化已完成，或该日已初始化，或该日晚于初始化结束日期 (全部由写操作累加)
+     *
+     * @param bucketDate 分桶日期
+     * @return 是否已完整
+     */
+    private boolean isSeeded(LocalDate bucketDate) {
+        if (bucketDate.isBefore(retainedFrom())) {
+            return false;
+        }
+        RunningStatisticsSeed seed = runningStatisticsRepository.findSeed();
+        if (seed == null) {
+            return false;
+        }
+        return seed.getCompletedAt() != null
+                || bucketDate.isAfter(seed.getSeedUntil())
+                || (seed.getSeededThrough() != null && !bucketDate.isAfter(seed.getSeededThrough()));
+    }
+
+    /**
+     * 保留期内最早的分桶日期，更早的分桶会被清理任务删除
+     *
+     * @return 分桶日期
+     */
+    private LocalDate retainedFrom() {
+        return LocalDate.now().minusDays(runningStatisticsDays);
+    }
+
+    /**
+     * 按主键顺序分批写入增量
+     *
+     * @param rows 增量列表
+     */
+    private void upsert(List<RunningStatistics> rows) {
+        rows.sort(PRIMARY_KEY_ORDER);
+        for (List<RunningStatistics> chunk : BatchUtils.partition(rows, upsertChunkSize)) {
+            runningStatisticsRepository.upsertDeltas(chunk);
+        }
+    }
+
+    private void apply(Map<String, RunningStatistics> deltas, Snapshot snapshot, int sign) {
+        applyTo(deltas, snapshot, DIMENSION_COMPANY, snapshot.getCompanyName(), sign);
+        applyTo(deltas, snapshot, DIMENSION_POSITION, snapshot.getPosition(), sign);
+        applyTo(deltas, snapshot, DIMENSION_CITY, snapshot.getCity(), sign);
+    }
+
+    private void applyTo(Map<String, RunningStatistics> deltas, Snapshot snapshot, String dimension, String dimensionValue, int sign) {
+        if (dimensionValue == null) {
+            return;
+        }
+
+        RunningStatistics delta = deltas.computeIfAbsent(snapshot.getBucketDate() + "|" + dimension + "|" + dimensionValue,
+                key -> RunningStatistics.builder()
+                        .bucketDate(snapshot.getBucketDate())
+                        .dimension(dimension)
+                        .dimensionValue(dimensionValue)
+                        .updatedAt(LocalDateTime.now())
+                        .build());
+        delta.setSampleCount(delta.getSampleCount() + sign);
+
+        long totalCents = snapshot.getTotalCents();
+        if (totalCents <= 0) {
+            return;
+        }
+        delta.setValueSumCents(delta.getValueSumCents() + sign * totalCents);
+        delta.setValueCount(delta.getValueCount() + sign);
+    }
+
+    private void addRows(List<RunningStatistics> rows, LocalDate bucketDate, String dimension,
+                         Map<String, SalaryAccumulator> accumulators, LocalDateTime now) {
+        for (Map.Entry<String, SalaryAccumulator> entry : accumulators.entrySet()) {
+            rows.add(toRow(bucketDate, dimension, entry.getKey(), entry.getValue(), now));
+        }
+    }
+
+    private RunningStatistics toRow(LocalDate bucketDate, String dimension, String dimensionValue,
+                                    SalaryAccumulator accumulator, LocalDateTime now) {
+        return RunningStatistics.builder()
+                .bucketDate(bucketDate)
+                .dimension(dimension)
+                .dimensionValue(dimensionValue)
+                .sampleCount(accumulator.getCount())
+                .valueSumCents(accumulator.getSumCents())
+                .valueCount(accumulator.getValidCount())
+                .updatedAt(now)
+                .build();
+    }
+
+    /**
+     * 参与聚合的Offer字段快照，更新和删除前捕获，用于撤销旧值
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Snapshot {
+        private LocalDate bucketDate;
+        private String companyName;
+        private String position;
+        private String city;
+        private long totalCents;
+
+        /**
+         * 捕获Offer当前的聚合字段
+         *
+         * @param offer Offer实体
+         * @return 快照，已删除或没有创建时间的Offer返回null
+         */
+        public static Snapshot of(Offer offer) {
+            if (offer == null || Boolean.TRUE.equals(offer.getIsDeleted()) || offer.getCreatedAt() == null) {
+                return null;
+            }
+            return new Snapshot(offer.getCreatedAt().toLocalDate(), offer.getCompanyName(), offer.getPosition(),
+                    offer.getCity(), SalaryParser.cents(offer.getTotalComp()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+package com.offershow.service;
+
+import com.offershow.exception.ServiceUnavailableException;
+import com.offershow.model.entity.SalaryCubeCell;
+import com.offershow.repository.SalaryCubeRepository;
+import com.offershow.task.SalaryAccumulator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 薪资多维立方体
+ * 将按天预聚合的立方体单元加载到内存并合并到月粒度：公司、职位、城市、工作年限区间字典编码，月份存为整型。
+ * 查询时按任意维度组合过滤并上卷，累加器可合并，因此任意分组的平均值、最值都与直接扫描原始数据一致。
+ * 只在统计数据版本号轮询 (启动后首次轮询和版本号变化时) 中整体重新加载并替换，查询线程不触发加载，尚未加载时返回暂不可用。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalaryCube {
+
+    public static final String DIMENSION_COMPANY = "company";
+    public static final String DIMENSION_POSITION = "position";
+    public static final String DIMENSION_CITY = "city";
+    public static final String DIMENSION_WORK_YEAR_BAND = "workYearBand";
+    public static final String DIMENSION_MONTH = "month";
+
+    /**
+     * 支持分组和过滤的维度，前四个为字典编码的字符串维度，最后一个为月份
+     */
+    public static final List<String> DIMENSIONS = Arrays.asList(
+            DIMENSION_COMPANY, DIMENSION_POSITION, DIMENSION_CITY, DIMENSION_WORK_YEAR_BAND, DIMENSION_MONTH);
+
+    private static final int STRING_DIMENSIONS = 4;
+    private static final int MONTH_INDEX = 4;
+
+    private final SalaryCubeRepository salaryCubeRepository;
+
+    /**
+     * 当前加载的立方体，尚未加载时为null
+     */
+    private volatile Cells cells;
+
+    /**
+     * 是否已加载
+     *
+     * @return 是否已加载
+     */
+    public boolean isReady() {
+        return cells != null;
+    }
+
+    /**
+     * 从数据库重新加载全部单元，加载完成后整体替换；加载失败时保留之前的数据
+     *
+     * @return 是否加载成功
+     */
+    public synchronized boolean reload() {
+        long start = System.currentTimeMillis();
+        CellsBuilder builder = new CellsBuilder();
+        try {
+            salaryCubeRepository.streamAll(context -> builder.add(context.getResultObject()));
+        } catch (RuntimeException e) {
+            log.error("Failed to load salary cube", e);
+            return false;
+        }
+
+        cells = builder.build();
+        log.info("Salary cube loaded {} monthly cells in {} ms", cells.accumulators.length,
+                System.currentTimeMillis() - start);
+        return true;
+    }
+
+    /**
+     * 按维度过滤并上卷
+     *
+     * @param groupBy    分组维度，为空时汇总为一行
+     * @param filters    维度 -> 允许的维度值，不包含月份
+     * @param startMonth 开始月份 (包含)，为null时不限制
+     * @param endMonth   结束月份 (包含)，为null时不限制
+     * @return 分组维度值 (与 groupBy 顺序一致) -> 累加器
+     * @throws ServiceUnavailableException 立方体尚未加载
+     */
+    public Map<List<String>, SalaryAccumulator> rollUp(List<String> groupBy, Map<String, ? extends Collection<String>> filters,
+                                                       YearMonth startMonth, YearMonth endMonth) {
+        Cells current = cells;
+        if (current == null) {
+            throw new ServiceUnavailableException("薪资立方体正在加载，请稍后重试");
+        }
+
+        // 过滤条件转换为字典编码，维度值不存在时结果为空
+        List<Set<Integer>> allowed = new ArrayList<>(STRING_DIMENSIONS);
+        for (int d = 0; d < STRING_DIMENSIONS; d++) {
+            Collection<String> values = filters.get(DIMENSIONS.get(d));
+            if (values == null || values.isEmpty()) {
+                allowed.add(null);
+                continue;
+            }
+            Set<Integer> codes = new HashSet<>();
+            for (String value : values) {
+                Integer code = current.codes.get(d).get(value);
+                if (code != null) {
+                    codes.add(code);
+                }
+            }
+            if (codes.isEmpty()) {
+                return new LinkedHashMap<>();
+            }
+            allowed.add(codes);
+        }
+        int minMonth = startMonth == null ? Integer.MIN_VALUE : monthIndex(startMonth);
+        int maxMonth = endMonth == null ? Integer.MAX_VALUE : monthIndex(endMonth);
+
+        int[] groupIndexes = groupBy.stream().mapToInt(DIMENSIONS::indexOf).toArray();
+        Map<IntArrayKey, SalaryAccumulator> groups = new HashMap<>();
+        for (int row = 0; row < current.accumulators.length; row++) {
+            int month = current.columns[MONTH_INDEX][row];
+            if (month < minMonth || month > maxMonth || !matches(current, allowed, row)) {
+                continue;
+            }
+            int[] key = new int[groupIndexes.length];
+            for (int i = 0; i < groupIndexes.length; i++) {
+                key[i] = current.columns[groupIndexes[i]][row];
+            }
+            groups.computeIfAbsent(new IntArrayKey(key), k -> new SalaryAccumulator()).merge(current.accumulators[row]);
+        }
+
+        Map<List<String>, SalaryAccumulator> result = new LinkedHashMap<>(groups.size() * 2);
+        for (Map.Entry<IntArrayKey, SalaryAccumulator> entry : groups.entrySet()) {
+            int[] key = entry.getKey().values;
+            List<String> values = new ArrayList<>(key.length);
+            for (int i = 0; i < key.length; i++) {
+                values.add(groupIndexes[i] == MONTH_INDEX
+                        ? monthOf(key[i]).toString()
+                        : current.dictionaries.get(groupIndexes[i]).get(key[i]));
+            }
+            result.put(values, entry.getValue());
+        }
+        return result;
+    }
+
+    private boolean matches(Cells current, List<Set<Integer>> allowed, int row) {
+        for (int d = 0; d < STRING_DIMENSIONS; d++) {
+            Set<Integer> codes = allowed.get(d);
+            if (codes != null && !codes.contains(current.columns[d][row])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private static YearMonth monthOf(int index) {
+        return YearMonth.of(Math.floorDiv(index, 12), Math.floorMod(index, 12) + 1);
+    }
+
+    /**
+     * 月粒度的立方体单元，维度按列存储
+     */
+    private static class Cells {
+        /**
+         * 维度 -> 行 -> 字典编码 (月份维度直接存月份序号)
+         */
+        private final int[][] columns;
+        private final SalaryAccumulator[] accumulators;
+        private final List<List<String>> dictionaries;
+        private final List<Map<String, Integer>> codes;
+
+        private Cells(int[][] columns, SalaryAccumulator[] accumulators,
+                      List<List<String>> dictionaries, List<Map<String, Integer>> codes) {
+            this.columns = columns;
+            this.accumulators = accumulators;
+            this.dictionaries = dictionaries;
+            this.codes = codes;
+        }
+    }
+
+    /**
+     * 立方体构建器，把同一月份的按天单元合并为一行
+     */
+    private static class CellsBuilder {
+        private final List<List<String>> dictionaries = new ArrayList<>();
+        private final List<Map<String, Integer>> codes = new ArrayList<>();
+        private final Map<IntArrayKey, SalaryAccumulator> rows = new LinkedHashMap<>();
+
+        private CellsBuilder() {
+            for (int d = 0; d < STRING_DIMENSIONS; d++) {
+                dictionaries.add(new ArrayList<>());
+                codes.add(new HashMap<>());
+            }
+        }
+
+        private void add(SalaryCubeCell cell) {
+            int[] key = new int[DIMENSIONS.size()];
+            key[0] = encode(0, cell.getCompanyName());
+            key[1] = encode(1, cell.getPosition());
+            key[2] = encode(2, cell.getCity());
+            key[3] = encode(3, cell.getWorkYearBand());
+            key[MONTH_INDEX] = monthIndex(YearMonth.from(cell.getCellDate()));
+            rows.computeIfAbsent(new IntArrayKey(key), k -> new SalaryAccumulator()).merge(SalaryAccumulator.of(cell));
+        }
+
+        private int encode(int dimension, String value) {
+            Map<String, Integer> dimensionCodes = codes.get(dimension);
+            Integer code = dimensionCodes.get(value);
+            if (code == null) {
+                code = dictionaries.get(dimension).size();
+                dictionaries.get(dimension).add(value);
+                dimensionCodes.put(value, code);
+            }
+            return code;
+        }
+
+        private Cells build() {
+            int[][] columns = new int[DIMENSIONS.size()][rows.size()];
+            SalaryAccumulator[] accumulators = new SalaryAccumulator[rows.size()];
+            int row = 0;
+            for (Map.Entry<IntArrayKey, SalaryAccumulator> entry : rows.entrySet()) {
+                for (int d = 0; d < columns.length; d++) {
+                    columns[d][row] = entry.getKey().values[d];
+                }
+                accumulators[row++] = entry.getValue();
+            }
+            return new Cells(columns, accumulators, dictionaries, codes);
+        }
+    }
+
+    /**
+     * 整型数组键
+     */
+    private static class IntArrayKey {
+        private final int[] values;
+        private final int hash;
+
+        private IntArrayKey(int[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IntArrayKey && Arrays.equals(values, ((IntArrayKey) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
\ No newline at end of file
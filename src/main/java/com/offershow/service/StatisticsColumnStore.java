@@ -0,0 +1,263 @@
+package com.offershow.service;
+
+import com.offershow.model.entity.Statistics;
+import com.offershow.repository.StatisticsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 统计信息列式内存存储
+ * 将 statistics 表按 (统计类型, 维度) 分区加载到内存：维度值字典编码，日期存为 epoch-day 整型数组，数值存为基本类型数组。
+ * 每个分区按日期排序，范围查询通过二分查找定位，统计查询不再访问数据库。统计数据版本号变化时整体重新加载并替换。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatisticsColumnStore {
+
+    private final StatisticsRepository statisticsRepository;
+
+    @Value("${app.statistics.column-store.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * 分区键 -> 分区，尚未加载或加载失败时为null
+     */
+    private volatile Map<String, Partition> partitions;
+
+    /**
+     * 是否可以提供查询
+     *
+     * @return 已启用且已加载
+     */
+    public boolean isReady() {
+        return enabled && partitions != null;
+    }
+
+    /**
+     * 从数据库重新加载全部统计信息，加载完成后整体替换；加载失败时保留之前的数据
+     *
+     * @return 是否加载成功，未启用时返回true
+     */
+    public synchronized boolean reload() {
+        if (!enabled) {
+            return true;
+        }
+
+        long start = System.currentTimeMillis();
+        Map<String, PartitionBuilder> builders = new HashMap<>();
+        try {
+            statisticsRepository.streamAll(context -> {
+                Statistics statistics = context.getResultObject();
+                builders.computeIfAbsent(partitionKey(statistics.getStatisticType(), statistics.getDimension()),
+                        key -> new PartitionBuilder()).add(statistics);
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to load statistics column store", e);
+            return false;
+        }
+
+        Map<String, Partition> loaded = new HashMap<>(builders.size() * 2);
+        int rows = 0;
+        for (Map.Entry<String, PartitionBuilder> entry : builders.entrySet()) {
+            Partition partition = entry.getValue().build();
+            loaded.put(entry.getKey(), partition);
+            rows += partition.size;
+        }
+        partitions = loaded;
+        log.info("Statistics column store loaded {} rows in {} partitions in {} ms",
+                rows, loaded.size(), System.currentTimeMillis() - start);
+        return true;
+    }
+
+    /**
+     * 根据统计类型和维度查询日期范围内的统计信息，按日期和维度值排序
+     *
+     * @param statisticType 统计类型
+     * @param dimension     统计维度
+     * @param startDate     开始日期 (包含)
+     * @param endDate       结束日期 (包含)
+     * @return 统计信息列表
+     */
+    public List<Statistics> findByTypeAndDimension(String statisticType, String dimension,
+                                                   LocalDate startDate, LocalDate endDate) {
+        Partition partition = partition(statisticType, dimension);
+        if (partition == null) {
+            return Collections.emptyList();
+        }
+
+        int from = partition.lowerBound(startDate.toEpochDay());
+        int to = partition.lowerBound(endDate.toEpochDay() + 1);
+        List<Statistics> result = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            result.add(partition.toStatistics(statisticType, dimension, i));
+        }
+        return result;
+    }
+
+    /**
+     * 根据统计类型、维度和维度值查询日期范围内的统计信息，按日期排序
+     *
+     * @param statisticType  统计类型
+     * @param dimension      统计维度
+     * @param dimensionValue 维度值
+     * @param startDate      开始日期 (包含)
+     * @param endDate        结束日期 (包含)
+     * @return 统计信息列表
+     */
+    public List<Statistics> findByTypeAndDimensionValue(String statisticType, String dimension, String dimensionValue,
+                                                        LocalDate startDate, LocalDate endDate) {
+        Partition partition = partition(statisticType, dimension);
+        Integer code = partition == null ? null : partition.codes.get(dimensionValue);
+        if (code == null) {
+            return Collections.emptyList();
+        }
+
+        int from = partition.lowerBound(startDate.toEpochDay());
+        int to = partition.lowerBound(endDate.toEpochDay() + 1);
+        List<Statistics> result = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            if (partition.valueCodes[i] == code) {
+                result.add(partition.toStatistics(statisticType, dimension, i));
+            }
+        }
+        return result;
+    }
+
+    private Partition partition(String statisticType, String dimension) {
+        Map<String, Partition> current = partitions;
+        if (current == null) {
+            throw new IllegalStateException("Statistics column store is not loaded");
+        }
+        return current.get(partitionKey(statisticType, dimension));
+    }
+
+    private static String partitionKey(String statisticType, String dimension) {
+        return statisticType + '\u0000' + dimension;
+    }
+
+    /**
+     * 一个 (统计类型, 维度) 分区的列式数据，行按日期排序
+     */
+    private static class Partition {
+        private final int size;
+        private final String[] dictionary;
+        private final Map<String, Integer> codes;
+        private final int[] epochDays;
+        private final int[] valueCodes;
+        private final double[] values;
+        private final int[] counts;
+        private final long[] valueSumCents;
+        private final int[] valueCounts;
+        private final byte[][] sketches;
+
+        private Partition(PartitionBuilder builder) {
+            this.size = builder.size;
+            this.dictionary = builder.dictionary.toArray(new String[0]);
+            this.codes = builder.codes;
+            this.epochDays = Arrays.copyOf(builder.epochDays, size);
+            this.valueCodes = Arrays.copyOf(builder.valueCodes, size);
+            this.values = Arrays.copyOf(builder.values, size);
+            this.counts = Arrays.copyOf(builder.counts, size);
+            this.valueSumCents = Arrays.copyOf(builder.valueSumCents, size);
+            this.valueCounts = Arrays.copyOf(builder.valueCounts, size);
+            this.sketches = Arrays.copyOf(builder.sketches, size);
+        }
+
+        /**
+         * 第一个日期不早于指定日期的行下标
+         *
+         * @param epochDay 日期 (epoch-day)
+         * @return 行下标，所有行都早于指定日期时返回行数
+         */
+        private int lowerBound(long epochDay) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (epochDays[mid] < epochDay) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private Statistics toStatistics(String statisticType, String dimension, int row) {
+            return Statistics.builder()
+                    .statisticType(statisticType)
+                    .dimension(dimension)
+                    .dimensionValue(dictionary[valueCodes[row]])
+                    .statisticValue(BigDecimal.valueOf(values[row]).setScale(2, RoundingMode.HALF_UP))
+                    .count(counts[row])
+                    .valueSum(BigDecimal.valueOf(valueSumCents[row], 2))
+                    .valueCount(valueCounts[row])
+                    .salarySketch(sketches[row])
+                    .statisticDate(LocalDate.ofEpochDay(epochDays[row]))
+                    .build();
+        }
+    }
+
+    /**
+     * 分区构建器，按数据库返回的顺序 (日期、维度值) 追加行
+     */
+    private static class PartitionBuilder {
+        private int size;
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        private int[] epochDays = new int[16];
+        private int[] valueCodes = new int[16];
+        private double[] values = new double[16];
+        private int[] counts = new int[16];
+        private long[] valueSumCents = new long[16];
+        private int[] valueCounts = new int[16];
+        private byte[][] sketches = new byte[16][];
+
+        private void add(Statistics statistics) {
+            if (size == epochDays.length) {
+                int capacity = size * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                valueCodes = Arrays.copyOf(valueCodes, capacity);
+                values = Arrays.copyOf(values, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                valueSumCents = Arrays.copyOf(valueSumCents, capacity);
+                valueCounts = Arrays.copyOf(valueCounts, capacity);
+                sketches = Arrays.copyOf(sketches, capacity);
+            }
+
+            Integer code = codes.get(statistics.getDimensionValue());
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(statistics.getDimensionValue());
+                codes.put(statistics.getDimensionValue(), code);
+            }
+
+            epochDays[size] = (int) statistics.getStatisticDate().toEpochDay();
+            valueCodes[size] = code;
+            values[size] = statistics.getStatisticValue() == null ? 0 : statistics.getStatisticValue().doubleValue();
+            counts[size] = statistics.getCount() == null ? 0 : statistics.getCount();
+            valueSumCents[size] = statistics.getValueSum() == null
+                    ? 0 : statistics.getValueSum().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            valueCounts[size] = statistics.getValueCount() == null ? 0 : statistics.getValueCount();
+            sketches[size] = statistics.getSalarySketch();
+            size++;
+        }
+
+        private Partition build() {
+            return new Partition(this);
+        }
+    }
+}
\ No newline at end of file
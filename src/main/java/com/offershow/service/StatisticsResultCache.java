@@ -0,0 +1,197 @@
+package com.offershow.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.offershow.model.vo.StatisticsVO;
+import com.offershow.repository.StatisticsGenerationRepository;
+import com.offershow.util.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 统计查询结果缓存
+ * 统计数据只在统计任务完成时变化，按规范化后的查询条件缓存构建好的 StatisticsVO。
+ * 统计任务完成时在同一事务内递增数据库中的版本号，本实例在提交后请求后台刷新，其他实例定时轮询版本号，发现变化后丢弃旧版本的缓存。
+ * 版本号变化时同时重新加载统计信息列式存储和薪资多维立方体，加载完成后才切换版本号，保证新版本的缓存只由新数据构建。
+ * 重新加载需要读取全部统计数据和立方体单元，因此只在后台线程执行，短时间内的多次递增 (如回填的各个分区) 合并为一次加载。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StatisticsResultCache {
+
+    private final StatisticsGenerationRepository statisticsGenerationRepository;
+    private final StatisticsColumnStore statisticsColumnStore;
+    private final SalaryCube salaryCube;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.cache.statistics.max-entries:1000}")
+    private long maxEntries;
+
+    @Value("${app.cache.statistics.expire-minutes:1440}")
+    private long expireMinutes;
+
+    @Value("${app.cache.statistics.refresh-delay-millis:2000}")
+    private long refreshDelayMillis;
+
+    /**
+     * 当前已知的统计数据版本号
+     */
+    private final AtomicLong generation = new AtomicLong(-1);
+
+    /**
+     * 是否已有待执行的后台刷新
+     */
+    private final AtomicBoolean refreshRequested = new AtomicBoolean();
+
+    private Cache<Key, StatisticsVO> cache;
+
+    private ScheduledExecutorService refreshExecutor;
+
+    @PostConstruct
+    public void init() {
+        refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "statistics-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expireMinutes, TimeUnit.MINUTES)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "statisticsResult");
+    }
+
+    @PreDestroy
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 读取缓存，未命中时加载并回填；加载期间版本号发生变化则不回填
+     *
+     * @param key    规范化后的查询条件
+     * @param loader 加载函数
+     * @return 统计结果
+     */
+    public StatisticsVO get(Key key, Supplier<StatisticsVO> loader) {
+        StatisticsVO cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long currentGeneration = generation.get();
+        StatisticsVO statisticsVO = loader.get();
+        if (currentGeneration >= 0 && generation.get() == currentGeneration) {
+            cache.asMap().putIfAbsent(key, statisticsVO);
+            // 回填与版本变化并发时再次校验，确保旧版本的结果不残留在缓存中
+            if (generation.get() != currentGeneration) {
+                cache.asMap().remove(key, statisticsVO);
+            }
+        }
+        return statisticsVO;
+    }
+
+    /**
+     * 递增统计数据版本号，需要在写入统计数据的事务内调用，本实例在事务提交后请求后台刷新
+     */
+    public void bumpGeneration() {
+        statisticsGenerationRepository.increment();
+        TransactionUtils.afterCommit(this::requestRefresh);
+    }
+
+    /**
+     * 请求后台刷新版本号，延迟时间内的多次请求合并为一次；刷新进行中收到的请求在其完成后再执行一次
+     */
+    public void requestRefresh() {
+        if (refreshRequested.compareAndSet(false, true)) {
+            refreshExecutor.schedule(() -> {
+                refreshRequested.set(false);
+                try {
+                    refreshGeneration();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to refresh statistics generation", e);
+                }
+            }, refreshDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 轮询数据库中的统计数据版本号，版本号变化时重新加载列式存储、立方体并丢弃全部缓存
+     */
+    @Scheduled(fixedDelayString = "${app.cache.statistics.poll-millis:30000}")
+    public synchronized void refreshGeneration() {
+        Long current;
+        try {
+            current = statisticsGenerationRepository.findCurrent();
+        } catch (RuntimeException e) {
+            // 无法确认版本号时停用缓存，直到下次轮询成功
+            log.warn("Failed to read statistics generation, disabling statistics cache", e);
+            generation.set(-1);
+            cache.invalidateAll();
+            return;
+        }
+
+        long latest = current == null ? 0 : current;
+        if (generation.get() == latest) {
+            return;
+        }
+
+        // 列式存储或立方体加载失败时保持旧版本号，下次轮询重试
+        if (!statisticsColumnStore.reload() || !salaryCube.reload()) {
+            return;
+        }
+        long previous = generation.getAndSet(latest);
+        cache.invalidateAll();
+        log.debug("Statistics generation changed from {} to {}, cache cleared", previous, latest);
+    }
+
+    /**
+     * 规范化后的查询条件
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Key {
+        /**
+         * 查询类型 (SALARY/WEEKLY/MONTHLY)
+         */
+        private String type;
+
+        /**
+         * 统计维度
+         */
+        private String dimension;
+
+        /**
+         * 维度值
+         */
+        private String dimensionValue;
+
+        /**
+         * 开始日期
+         */
+        private String startDate;
+
+        /**
+         * 结束日期
+         */
+        private String endDate;
+    }
+}
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.offershow.service;
 
+import com.offershow.model.dto.CubeQueryDTO;
 import com.offershow.model.dto.StatisticsQueryDTO;
+import com.offershow.model.vo.SalaryCubeVO;
 import com.offershow.model.vo.StatisticsVO;
 
 /**
@@ -22,4 +24,12 @@ public interface StatisticsService {
      * @return 统计结果
      */
     StatisticsVO getTrendStatistics(StatisticsQueryDTO queryDTO);
+
+    /**
+     * 按任意维度组合查询薪资多维立方体
+     *
+     * @param queryDTO 查询条件
+     * @return 分组结果
+     */
+    SalaryCubeVO getCubeStatistics(CubeQueryDTO queryDTO);
 }
\ No newline at end of file
@@ -1,20 +1,33 @@
 package com.offershow.service;
 
 import com.offershow.exception.BusinessException;
+import com.offershow.model.dto.CubeQueryDTO;
 import com.offershow.model.dto.StatisticsQueryDTO;
 import com.offershow.model.entity.Statistics;
+import com.offershow.model.vo.SalaryCubeVO;
 import com.offershow.model.vo.StatisticsVO;
 import com.offershow.repository.StatisticsRepository;
+import com.offershow.task.SalaryAccumulator;
+import com.offershow.util.SalarySketch;
+import com.tdunning.math.stats.TDigest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -26,12 +39,21 @@ import java.util.stream.Collectors;
 public class StatisticsServiceImpl implements StatisticsService {
 
     private final StatisticsRepository statisticsRepository;
+    private final StatisticsResultCache statisticsResultCache;
+    private final StatisticsColumnStore statisticsColumnStore;
+    private final SalaryCube salaryCube;
+
+    @Value("${app.statistics.sketch.compression:100}")
+    private double sketchCompression;
+
+    @Value("${app.statistics.cube.max-rows:1000}")
+    private int cubeMaxRows;
 
     @Override
     public StatisticsVO getSalaryStatistics(StatisticsQueryDTO queryDTO) {
         // 检查参数
-        String dimension = StringUtils.defaultIfBlank(queryDTO.getDimension(), "COMPANY");
-        if (!Arrays.asList("COMPANY", "POSITION", "CITY").contains(dimension.toUpperCase())) {
+        String dimension = StringUtils.defaultIfBlank(queryDTO.getDimension(), "COMPANY").toUpperCase();
+        if (!Arrays.asList("COMPANY", "POSITION", "CITY").contains(dimension)) {
             throw new BusinessException("不支持的统计维度: " + dimension);
         }
 
@@ -45,34 +67,34 @@ public class StatisticsServiceImpl implements StatisticsService {
             startDate = LocalDate.now().minusMonths(1).format(DateTimeFormatter.ISO_DATE);
         }
 
-        // 获取统计数据
-        List<Statistics> statisticsList = statisticsRepository.findByTypeAndDimension(
-                "SALARY", dimension.toUpperCase(), startDate, endDate);
-
-        // 转换为VO
-        List<StatisticsVO.StatisticsItem> items = statisticsList.stream()
-                .map(this::convertToStatisticsItem)
-                .collect(Collectors.toList());
-
-        return StatisticsVO.builder()
-                .dimension(dimension)
-                .statistics(items)
-                .build();
+        StatisticsResultCache.Key key = new StatisticsResultCache.Key("SALARY", dimension, null, startDate, endDate);
+        String queryStartDate = startDate;
+        String queryEndDate = endDate;
+        return statisticsResultCache.get(key, () -> loadSalaryStatistics(dimension, queryStartDate, queryEndDate));
     }
 
     @Override
     public StatisticsVO getTrendStatistics(StatisticsQueryDTO queryDTO) {
         // 检查参数
-        String type = StringUtils.defaultIfBlank(queryDTO.getType(), "MONTHLY");
-        if (!Arrays.asList("MONTHLY", "WEEKLY").contains(type.toUpperCase())) {
+        String type = StringUtils.defaultIfBlank(queryDTO.getType(), "MONTHLY").toUpperCase();
+        if (!Arrays.asList("MONTHLY", "WEEKLY").contains(type)) {
             throw new BusinessException("不支持的统计类型: " + type);
         }
 
-        String dimension = StringUtils.defaultIfBlank(queryDTO.getDimension(), "ALL");
-        if (!Arrays.asList("ALL", "COMPANY").contains(dimension.toUpperCase())) {
+        String dimension = StringUtils.defaultIfBlank(queryDTO.getDimension(), "ALL").toUpperCase();
+        if (!Arrays.asList("ALL", "COMPANY").contains(dimension)) {
             throw new BusinessException("不支持的统计维度: " + dimension);
         }
 
+        // 整体趋势不区分维度值，特定维度的趋势需要维度值
+        String dimensionValue = null;
+        if (!"ALL".equals(dimension)) {
+            dimensionValue = queryDTO.getDimensionValue();
+            if (StringUtils.isBlank(dimensionValue)) {
+                throw new BusinessException("维度值不能为空");
+            }
+        }
+
         // 处理日期范围
         String startDate = queryDTO.getStartDate();
         String endDate = queryDTO.getEndDate();
@@ -80,31 +102,147 @@ public class StatisticsServiceImpl implements StatisticsService {
             endDate = LocalDate.now().format(DateTimeFormatter.ISO_DATE);
         }
         if (StringUtils.isBlank(startDate)) {
-            if ("MONTHLY".equalsIgnoreCase(type)) {
+            if ("MONTHLY".equals(type)) {
                 startDate = LocalDate.now().minusMonths(12).format(DateTimeFormatter.ISO_DATE);
             } else {
                 startDate = LocalDate.now().minusWeeks(12).format(DateTimeFormatter.ISO_DATE);
             }
         }
 
+        StatisticsResultCache.Key key = new StatisticsResultCache.Key(type, dimension, dimensionValue, startDate, endDate);
+        String queryDimensionValue = dimensionValue;
+        String queryStartDate = startDate;
+        String queryEndDate = endDate;
+        return statisticsResultCache.get(key,
+                () -> loadTrendStatistics(type, dimension, queryDimensionValue, queryStartDate, queryEndDate));
+    }
+
+    @Override
+    public SalaryCubeVO getCubeStatistics(CubeQueryDTO queryDTO) {
+        // 检查分组维度
+        List<String> groupBy = new ArrayList<>();
+        if (queryDTO.getGroupBy() != null) {
+            for (String dimension : queryDTO.getGroupBy()) {
+                String normalized = SalaryCube.DIMENSIONS.stream()
+                        .filter(candidate -> candidate.equalsIgnoreCase(StringUtils.trim(dimension)))
+                        .findFirst()
+                        .orElseThrow(() -> new BusinessException("不支持的统计维度: " + dimension));
+                if (!groupBy.contains(normalized)) {
+                    groupBy.add(normalized);
+                }
+            }
+        }
+
+        Map<String, List<String>> filters = new HashMap<>();
+        putFilter(filters, SalaryCube.DIMENSION_COMPANY, queryDTO.getCompanies());
+        putFilter(filters, SalaryCube.DIMENSION_POSITION, queryDTO.getPositions());
+        putFilter(filters, SalaryCube.DIMENSION_CITY, queryDTO.getCities());
+        putFilter(filters, SalaryCube.DIMENSION_WORK_YEAR_BAND, queryDTO.getWorkYearBands());
+
+        YearMonth startMonth = parseMonth(queryDTO.getStartMonth());
+        YearMonth endMonth = parseMonth(queryDTO.getEndMonth());
+        int minCount = queryDTO.getMinCount() == null ? 1 : Math.max(queryDTO.getMinCount(), 1);
+        int limit = queryDTO.getLimit() == null ? cubeMaxRows : Math.min(Math.max(queryDTO.getLimit(), 1), cubeMaxRows);
+
+        List<Map.Entry<List<String>, SalaryAccumulator>> groups = salaryCube.rollUp(groupBy, filters, startMonth, endMonth)
+                .entrySet().stream()
+                .filter(entry -> entry.getValue().getCount() >= minCount)
+                .sorted((a, b) -> Integer.compare(b.getValue().getCount(), a.getValue().getCount()))
+                .collect(Collectors.toList());
+
+        List<SalaryCubeVO.CubeRow> rows = new ArrayList<>(Math.min(groups.size(), limit));
+        for (Map.Entry<List<String>, SalaryAccumulator> group : groups.subList(0, Math.min(groups.size(), limit))) {
+            Map<String, String> dimensions = new LinkedHashMap<>();
+            for (int i = 0; i < groupBy.size(); i++) {
+                dimensions.put(groupBy.get(i), group.getKey().get(i));
+            }
+            SalaryAccumulator accumulator = group.getValue();
+            rows.add(SalaryCubeVO.CubeRow.builder()
+                    .dimensions(dimensions)
+                    .count(accumulator.getCount())
+                    .avgSalary(accumulator.average())
+                    .minSalary(accumulator.getMinCents() == null ? null : BigDecimal.valueOf(accumulator.getMinCents(), 2))
+                    .maxSalary(accumulator.getMaxCents() == null ? null : BigDecimal.valueOf(accumulator.getMaxCents(), 2))
+                    .build());
+        }
+
+        return SalaryCubeVO.builder()
+                .groupBy(groupBy)
+                .totalGroups(groups.size())
+                .rows(rows)
+                .build();
+    }
+
+    private void putFilter(Map<String, List<String>> filters, String dimension, List<String> values) {
+        if (values == null) {
+            return;
+        }
+        List<String> normalized = values.stream()
+                .filter(StringUtils::isNotBlank)
+                .map(String::trim)
+                .collect(Collectors.toList());
+        if (!normalized.isEmpty()) {
+            filters.put(dimension, normalized);
+        }
+    }
+
+    private YearMonth parseMonth(String month) {
+        if (StringUtils.isBlank(month)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(month.trim());
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("月份格式不正确: " + month);
+        }
+    }
+
+    /**
+     * 从数据库查询并构建薪资统计结果
+     *
+     * @param dimension 统计维度
+     * @param startDate 开始日期
+     * @param endDate   结束日期
+     * @return 统计结果
+     */
+    private StatisticsVO loadSalaryStatistics(String dimension, String startDate, String endDate) {
+        // 获取统计数据
+        List<Statistics> statisticsList = findByTypeAndDimension("SALARY", dimension, startDate, endDate);
+
+        // 按维度值合并各日期的部分聚合和分位数草图
+        Map<String, List<Statistics>> statisticsByValue = statisticsList.stream()
+                .collect(Collectors.groupingBy(Statistics::getDimensionValue, LinkedHashMap::new, Collectors.toList()));
+        List<StatisticsVO.StatisticsItem> items = statisticsByValue.entrySet().stream()
+                .map(entry -> convertToStatisticsItem(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+
+        return StatisticsVO.builder()
+                .dimension(dimension)
+                .statistics(items)
+                .build();
+    }
+
+    /**
+     * 从数据库查询并构建趋势统计结果
+     *
+     * @param type           统计类型
+     * @param dimension      统计维度
+     * @param dimensionValue 维度值
+     * @param startDate      开始日期
+     * @param endDate        结束日期
+     * @return 统计结果
+     */
+    private StatisticsVO loadTrendStatistics(String type, String dimension, String dimensionValue,
+                                             String startDate, String endDate) {
         List<Statistics> statisticsList;
-        String trendDimension = type.toUpperCase();
 
-        if ("ALL".equalsIgnoreCase(dimension)) {
+        if ("ALL".equals(dimension)) {
             // 获取整体趋势数据
-            statisticsList = statisticsRepository.findByTypeAndDimension(
-                    "TREND", trendDimension, startDate, endDate);
+            statisticsList = findByTypeAndDimension("TREND", type, startDate, endDate);
         } else {
-            // 获取特定维度的趋势数据
-            String dimensionValue = queryDTO.getDimensionValue();
-            if (StringUtils.isBlank(dimensionValue)) {
-                throw new BusinessException("维度值不能为空");
-            }
-
             // 针对特定公司的趋势
-            String fullDimension = trendDimension + "_" + dimension.toUpperCase();
-            statisticsList = statisticsRepository.findByTypeAndDimensionValue(
-                    "TREND", fullDimension, dimensionValue, startDate, endDate);
+            String fullDimension = type + "_" + dimension;
+            statisticsList = findByTypeAndDimensionValue("TREND", fullDimension, dimensionValue, startDate, endDate);
         }
 
         // 转换为趋势项
@@ -122,23 +260,103 @@ public class StatisticsServiceImpl implements StatisticsService {
         return StatisticsVO.builder()
                 .type(type)
                 .dimension(dimension)
-                .dimensionValue(queryDTO.getDimensionValue())
+                .dimensionValue(dimensionValue)
                 .trends(trends)
                 .build();
     }
 
     /**
-     * 转换为统计项
+     * 根据统计类型和维度查询统计信息，列式存储已加载时从内存读取
+     *
+     * @param statisticType 统计类型
+     * @param dimension     统计维度
+     * @param startDate     开始日期
+     * @param endDate       结束日期
+     * @return 统计信息列表
+     */
+    private List<Statistics> findByTypeAndDimension(String statisticType, String dimension,
+                                                    String startDate, String endDate) {
+        if (statisticsColumnStore.isReady()) {
+            return statisticsColumnStore.findByTypeAndDimension(
+                    statisticType, dimension, parseDate(startDate), parseDate(endDate));
+        }
+        return statisticsRepository.findByTypeAndDimension(statisticType, dimension, startDate, endDate);
+    }
+
+    /**
+     * 根据统计类型、维度和维度值查询统计信息，列式存储已加载时从内存读取
      *
-     * @param statistics 统计实体
+     * @param statisticType  统计类型
+     * @param dimension      统计维度
+     * @param dimensionValue 维度值
+     * @param startDate      开始日期
+     * @param endDate        结束日期
+     * @return 统计信息列表
+     */
+    private List<Statistics> findByTypeAndDimensionValue(String statisticType, String dimension, String dimensionValue,
+                                                         String startDate, String endDate) {
+        if (statisticsColumnStore.isReady()) {
+            return statisticsColumnStore.findByTypeAndDimensionValue(
+                    statisticType, dimension, dimensionValue, parseDate(startDate), parseDate(endDate));
+        }
+        return statisticsRepository.findByTypeAndDimensionValue(
+                statisticType, dimension, dimensionValue, startDate, endDate);
+    }
+
+    private LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new BusinessException("日期格式不正确: " + date);
+        }
+    }
+
+    /**
+     * 合并同一维度值各日期的统计数据并转换为统计项
+     *
+     * @param dimensionValue 维度值
+     * @param statisticsList 各日期的统计实体
      * @return 统计项
      */
-    private StatisticsVO.StatisticsItem convertToStatisticsItem(Statistics statistics) {
+    private StatisticsVO.StatisticsItem convertToStatisticsItem(String dimensionValue, List<Statistics> statisticsList) {
+        int count = 0;
+        BigDecimal salarySum = BigDecimal.ZERO;
+        long salaryCount = 0;
+        List<TDigest> digests = new ArrayList<>();
+        for (Statistics statistics : statisticsList) {
+            count += statistics.getCount();
+            if (statistics.getValueCount() != null && statistics.getValueCount() > 0) {
+                salarySum = salarySum.add(statistics.getValueSum());
+                salaryCount += statistics.getValueCount();
+            } else if (statistics.getStatisticValue() != null && statistics.getStatisticValue().signum() > 0) {
+                // 没有部分聚合的历史记录按样本数加权平均值
+                salarySum = salarySum.add(statistics.getStatisticValue().multiply(BigDecimal.valueOf(statistics.getCount())));
+                salaryCount += statistics.getCount();
+            }
+            TDigest digest = SalarySketch.fromBytes(statistics.getSalarySketch());
+            if (digest != null) {
+                digests.add(digest);
+            }
+        }
+
+        BigDecimal avgSalary = salaryCount > 0
+                ? salarySum.divide(BigDecimal.valueOf(salaryCount), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+        TDigest merged = null;
+        if (!digests.isEmpty()) {
+            merged = SalarySketch.create(sketchCompression);
+            merged.add(digests);
+        }
+
         return StatisticsVO.StatisticsItem.builder()
-                .dimensionValue(statistics.getDimensionValue())
-                .avgBaseSalary(statistics.getStatisticValue())
-                .avgTotalSalary(statistics.getStatisticValue().multiply(stats.getMultiplier()))
-                .count(statistics.getCount())
+                .dimensionValue(dimensionValue)
+                .avgBaseSalary(avgSalary)
+                .avgTotalSalary(avgSalary)
+                .count(count)
+                .p25Salary(SalarySketch.quantile(merged, 0.25))
+                .p50Salary(SalarySketch.quantile(merged, 0.50))
+                .p75Salary(SalarySketch.quantile(merged, 0.75))
+                .p90Salary(SalarySketch.quantile(merged, 0.90))
                 .build();
     }
 
@@ -157,19 +375,4 @@ public class StatisticsServiceImpl implements StatisticsService {
             return date.format(DateTimeFormatter.ISO_DATE);
         }
     }
-
-    /**
-     * 统计计算工具类
-     */
-    private static class stats {
-        /**
-         * 获取总薪资倍数
-         * 基于经验值，总体薪资约为基本薪资的1.8-2.5倍
-         *
-         * @return 倍数
-         */
-        public static java.math.BigDecimal getMultiplier() {
-            return new java.math.BigDecimal("2.2");
-        }
-    }
 }
\ No newline at end of file
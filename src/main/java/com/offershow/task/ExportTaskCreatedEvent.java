@@ -0,0 +1,16 @@
+package com.offershow.task;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 导出任务创建事件，创建任务的事务提交后唤醒本节点的导出工作线程
+ */
+@Data
+@AllArgsConstructor
+public class ExportTaskCreatedEvent {
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.offershow.task;
+
+import com.offershow.model.entity.ExportTask;
+import com.offershow.repository.ExportTaskRepository;
+import com.offershow.service.ExportTaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 导出任务工作线程池
+ * 每个节点按配置的并发数处理导出任务，空闲的工作槽位通过 SELECT ... FOR UPDATE SKIP LOCKED 领取任务，多个节点同时领取时不会拿到同一行。
+ * 领取时设置租约，处理期间定期续约；节点失联、租约过期后其他节点可以重新领取，领取次数同时作为防护令牌，旧节点的完成标记不会生效。
+ * 本节点创建任务的事务提交后立即唤醒调度，定时轮询用于领取其他节点创建的任务和接管过期的任务。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExportWorker {
+
+    private final ExportTaskRepository exportTaskRepository;
+    private final ExportTaskService exportTaskService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.export.worker.concurrency:2}")
+    private int concurrency;
+
+    @Value("${app.export.worker.lease-seconds:120}")
+    private int leaseSeconds;
+
+    @Value("${app.export.worker.max-attempts:3}")
+    private int maxAttempts;
+
+    /**
+     * 当前节点标识
+     */
+    private final String owner = StringUtils.left(
+            ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8), 100);
+
+    /**
+     * 正在处理的任务ID -> 领取次数
+     */
+    private final Map<Long, Integer> running = new ConcurrentHashMap<>();
+
+    /**
+     * 是否已有待执行的调度，多次唤醒合并为一次
+     */
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean();
+
+    private volatile boolean stopped;
+
+    private Semaphore slots;
+    private ExecutorService workerExecutor;
+    private ExecutorService dispatchExecutor;
+    private ScheduledExecutorService heartbeatExecutor;
+
+    @PostConstruct
+    public void init() {
+        slots = new Semaphore(concurrency);
+        AtomicInteger threadNumber = new AtomicInteger();
+        workerExecutor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "export-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "export-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "export-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long renewSeconds = Math.max(1, leaseSeconds / 3);
+        heartbeatExecutor.scheduleWithFixedDelay(this::renewLeases, renewSeconds, renewSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 停止领取新任务，并把正在处理的任务释放回待处理状态，由其他节点或重启后的节点继续处理
+     */
+    @PreDestroy
+    public void destroy() {
+        stopped = true;
+        dispatchExecutor.shutdownNow();
+        heartbeatExecutor.shutdownNow();
+        workerExecutor.shutdownNow();
+        if (!running.isEmpty()) {
+            try {
+                log.info("Released {} export tasks on shutdown", exportTaskRepository.release(owner));
+            } catch (RuntimeException e) {
+                log.warn("Failed to release export tasks on shutdown, they will be reclaimed after lease expiry", e);
+            }
+        }
+    }
+
+    /**
+     * 本节点创建的任务提交后立即唤醒调度
+     *
+     * @param event 导出任务创建事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskCreated(ExportTaskCreatedEvent event) {
+        wakeUp();
+    }
+
+    /**
+     * 定时轮询：领取其他节点创建的任务和租约过期的任务，超过最大领取次数的任务标记为失败
+     */
+    @Scheduled(fixedDelayString = "${app.export.worker.poll-millis:10000}")
+    public void poll() {
+        int exhausted = exportTaskRepository.failExhausted(maxAttempts);
+        if (exhausted > 0) {
+            log.warn("Marked {} export tasks as failed after {} attempts", exhausted, maxAttempts);
+        }
+        wakeUp();
+    }
+
+    /**
+     * 唤醒调度线程领取任务
+     */
+    public void wakeUp() {
+        if (!stopped && dispatchRequested.compareAndSet(false, true)) {
+            dispatchExecutor.execute(this::dispatch);
+        }
+    }
+
+    /**
+     * 为每个空闲的工作槽位领取一个任务，没有可领取的任务时返回
+     */
+    private void dispatch() {
+        dispatchRequested.set(false);
+        while (!stopped && slots.tryAcquire()) {
+            ExportTask task;
+            try {
+                task = claim();
+            } catch (RuntimeException e) {
+                slots.release();
+                log.warn("Failed to claim export task", e);
+                return;
+            }
+            if (task == null) {
+                slots.release();
+                return;
+            }
+
+            if (task.getAttempts() > 1) {
+                log.info("Reclaimed export task {}, attempt {}", task.getId(), task.getAttempts());
+            }
+            running.put(task.getId(), task.getAttempts());
+            workerExecutor.execute(() -> process(task));
+        }
+    }
+
+    /**
+     * 在一个短事务内锁定并领取一个任务，已被其他节点锁定的行直接跳过
+     */
+    private ExportTask claim() {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = exportTaskRepository.lockClaimable(1, maxAttempts);
+            if (ids.isEmpty()) {
+                return null;
+            }
+            exportTaskRepository.claim(ids, owner, leaseSeconds);
+            return exportTaskRepository.findById(ids.get(0));
+        });
+    }
+
+    private void process(ExportTask task) {
+        try {
+            String fileUrl = exportTaskService.exportFile(task);
+            if (exportTaskRepository.complete(task.getId(), owner, task.getAttempts(), fileUrl) == 0) {
+                log.warn("Lease lost for export task {}, attempt {}", task.getId(), task.getAttempts());
+            } else {
+                log.info("Export task {} completed successfully", task.getId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to process export task: {}", task.getId(), e);
+            try {
+                exportTaskRepository.fail(task.getId(), owner, task.getAttempts(),
+                        StringUtils.abbreviate(e.getMessage(), 500));
+            } catch (RuntimeException ex) {
+                log.warn("Failed to mark export task {} as failed", task.getId(), ex);
+            }
+        } finally {
+            running.remove(task.getId());
+            slots.release();
+            // 空出槽位后继续领取积压的任务，不必等待下一次轮询
+            wakeUp();
+        }
+    }
+
+    private void renewLeases() {
+        if (running.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(running.keySet());
+        try {
+            int renewed = exportTaskRepository.renewLeases(ids, owner, leaseSeconds);
+            // 快照之后已结束的任务不计入
+            long stillRunning = ids.stream().filter(running::containsKey).count();
+            if (renewed < stillRunning) {
+                log.warn("Lease lost for {} of {} export tasks", stillRunning - renewed, stillRunning);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew leases for export tasks {}", ids, e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,199 @@
+package com.offershow.task;
+
+import com.offershow.model.entity.JobExecution;
+import com.offershow.repository.JobExecutionRepository;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 任务协调器
+ * 多实例部署时通过数据库中的租约保证同一任务的每次执行 (任务名称 + 执行批次) 只由一个节点完成。
+ * 获取租约的节点定期续约；节点失联、租约过期后其他节点可以接管，接管时防护令牌递增。
+ * 任务在一个事务内执行，提交前按防护令牌把执行记录标记为完成，租约已被接管时整个事务回滚，旧节点的写入不会生效。
+ * 长任务可以拆分为多个批次 (分片)，各节点分别获取不同分片的租约，从而分摊到整个集群。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobCoordinator {
+
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+
+    private final JobExecutionRepository jobExecutionRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.job.lease-seconds:300}")
+    private int leaseSeconds;
+
+    /**
+     * 当前节点标识
+     */
+    private final String owner = StringUtils.left(
+            ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8), 100);
+
+    private ScheduledExecutorService heartbeatExecutor;
+
+    @PostConstruct
+    public void init() {
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void destroy() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    /**
+     * 获取租约并执行任务，任务批次已完成或正由其他节点执行时直接返回
+     *
+     * @param jobName    任务名称
+     * @param occurrence 执行批次
+     * @param job        任务，在事务内执行
+     * @return 是否由当前节点执行
+     */
+    public boolean runExclusively(String jobName, String occurrence, Runnable job) {
+        Lease lease = tryAcquire(jobName, occurrence);
+        if (lease == null) {
+            return false;
+        }
+        run(lease, job);
+        return true;
+    }
+
+    /**
+     * 获取租约并执行不需要整体事务的任务 (如分批提交的清理任务)，任务需要自行保证可以重复执行
+     *
+     * @param jobName    任务名称
+     * @param occurrence 执行批次
+     * @param job        任务，不在事务内执行
+     * @return 是否由当前节点执行
+     */
+    public boolean runExclusivelyWithoutTransaction(String jobName, String occurrence, Runnable job) {
+        Lease lease = tryAcquire(jobName, occurrence);
+        if (lease == null) {
+            return false;
+        }
+        execute(lease, job, false);
+        return true;
+    }
+
+    /**
+     * 尝试获取任务批次的租约
+     *
+     * @param jobName    任务名称
+     * @param occurrence 执行批次
+     * @return 租约，任务批次已完成或正由其他节点执行时返回null
+     */
+    public Lease tryAcquire(String jobName, String occurrence) {
+        if (jobExecutionRepository.insertIfAbsent(jobName, occurrence, owner, leaseSeconds) == 0
+                && jobExecutionRepository.takeOver(jobName, occurrence, owner, leaseSeconds) == 0) {
+            log.debug("Job {} [{}] is completed or held by another node, skipping", jobName, occurrence);
+            return null;
+        }
+
+        JobExecution execution = jobExecutionRepository.findByJobAndOccurrence(jobName, occurrence);
+        if (execution == null || !owner.equals(execution.getOwner())) {
+            return null;
+        }
+        return new Lease(execution.getId(), jobName, occurrence, execution.getFencingToken());
+    }
+
+    /**
+     * 在租约内执行任务：执行期间定期续约，任务与执行记录的完成标记在同一事务内提交
+     *
+     * @param lease 租约
+     * @param job   任务
+     */
+    public void run(Lease lease, Runnable job) {
+        execute(lease, job, true);
+    }
+
+    private void execute(Lease lease, Runnable job, boolean transactional) {
+        long heartbeatSeconds = Math.max(leaseSeconds / 3, 1);
+        ScheduledFuture<?> heartbeat = heartbeatExecutor.scheduleWithFixedDelay(
+                () -> renew(lease), heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        try {
+            if (transactional) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    job.run();
+                    // 防护：租约已被其他节点接管时回滚本次执行的全部写入
+                    complete(lease);
+                });
+            } else {
+                job.run();
+                complete(lease);
+            }
+        } catch (RuntimeException e) {
+            jobExecutionRepository.finish(lease.getId(), lease.getFencingToken(), STATUS_FAILED,
+                    StringUtils.abbreviate(e.getMessage(), 500));
+            throw e;
+        } finally {
+            heartbeat.cancel(false);
+        }
+    }
+
+    private void complete(Lease lease) {
+        if (jobExecutionRepository.finish(lease.getId(), lease.getFencingToken(), STATUS_COMPLETED, null) == 0) {
+            throw new IllegalStateException("Lease lost for job " + lease.getJobName()
+                    + " [" + lease.getOccurrence() + "], token " + lease.getFencingToken());
+        }
+    }
+
+    private void renew(Lease lease) {
+        try {
+            if (jobExecutionRepository.renew(lease.getId(), lease.getFencingToken(), leaseSeconds) == 0) {
+                log.warn("Lease lost for job {} [{}], token {}", lease.getJobName(), lease.getOccurrence(),
+                        lease.getFencingToken());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to renew lease for job {} [{}]", lease.getJobName(), lease.getOccurrence(), e);
+        }
+    }
+
+    /**
+     * 任务批次的租约
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Lease {
+        /**
+         * 执行记录ID
+         */
+        private Long id;
+
+        /**
+         * 任务名称
+         */
+        private String jobName;
+
+        /**
+         * 执行批次
+         */
+        private String occurrence;
+
+        /**
+         * 防护令牌
+         */
+        private Long fencingToken;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.offershow.task;
+
+import com.offershow.repository.ExportTaskRepository;
+import com.offershow.repository.JobExecutionRepository;
+import com.offershow.repository.OfferRepository;
+import com.offershow.repository.RunningStatisticsRepository;
+import com.offershow.repository.SalaryCubeRepository;
+import com.offershow.repository.StatisticsRepository;
+import com.offershow.service.StatisticsResultCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 数据保留清理任务调度器
+ * 分批删除过期的统计数据、立方体单元、实时聚合分桶、已结束的导出任务和任务执行记录，以及已逻辑删除的 Offer。
+ * 每批按过滤条件所在索引的顺序删除，只扫描并锁定要删除的行；每批单独提交并在批次之间暂停，
+ * 避免一条大 DELETE 长时间持有锁、撑大 undo 日志。删除的行数通过 Micrometer 计数器暴露。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RetentionTaskScheduler {
+
+    private static final String METRIC_DELETED_ROWS = "retention.deleted.rows";
+
+    /**
+     * 导出任务和任务执行记录的结束状态，按状态分别删除以使用 (状态, 结束时间) 索引
+     */
+    private static final List<String> FINISHED_STATUSES = Arrays.asList("COMPLETED", "FAILED");
+
+    private final StatisticsRepository statisticsRepository;
+    private final SalaryCubeRepository salaryCubeRepository;
+    private final RunningStatisticsRepository runningStatisticsRepository;
+    private final ExportTaskRepository exportTaskRepository;
+    private final JobExecutionRepository jobExecutionRepository;
+    private final OfferRepository offerRepository;
+    private final StatisticsResultCache statisticsResultCache;
+    private final JobCoordinator jobCoordinator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.retention.pause-millis:100}")
+    private long pauseMillis;
+
+    @Value("${app.retention.statistics-days:365}")
+    private int statisticsDays;
+
+    @Value("${app.retention.cube-days:365}")
+    private int cubeDays;
+
+    @Value("${app.retention.running-statistics-days:90}")
+    private int runningStatisticsDays;
+
+    @Value("${app.retention.export-task-days:30}")
+    private int exportTaskDays;
+
+    @Value("${app.retention.job-execution-days:30}")
+    private int jobExecutionDays;
+
+    @Value("${app.retention.deleted-offer-days:90}")
+    private int deletedOfferDays;
+
+    /**
+     * 数据保留清理任务
+     * 每天凌晨4:30执行，多个实例中只有获取到租约的节点执行
+     */
+    @Scheduled(cron = "${app.retention.cron:0 30 4 * * ?}")
+    public void cleanup() {
+        LocalDate today = LocalDate.now();
+        jobCoordinator.runExclusivelyWithoutTransaction("retentionCleanup", today.format(DateTimeFormatter.ISO_DATE),
+                () -> runCleanup(today));
+    }
+
+    private void runCleanup(LocalDate today) {
+        log.info("Starting retention cleanup task...");
+
+        // 删除过期的统计数据
+        String statisticsBefore = today.minusDays(statisticsDays).format(DateTimeFormatter.ISO_DATE);
+        long statisticsDeleted = deleteInChunks("statistics",
+                limit -> statisticsRepository.deleteStatisticsBefore(statisticsBefore, limit));
+
+        // 删除过期的立方体单元
+        String cubeBefore = today.minusDays(cubeDays).format(DateTimeFormatter.ISO_DATE);
+        long cellsDeleted = deleteInChunks("salary_cube_cells",
+                limit -> salaryCubeRepository.deleteCellsBefore(cubeBefore, limit));
+        if (statisticsDeleted > 0 || cellsDeleted > 0) {
+            statisticsResultCache.bumpGeneration();
+        }
+
+        // 删除过期的实时聚合分桶：统计任务只读取最近一个月内的分桶，重算更早的日期时会先从原始数据重建分桶
+        String bucketsBefore = today.minusDays(runningStatisticsDays).format(DateTimeFormatter.ISO_DATE);
+        deleteInChunks("salary_running_statistics",
+                limit -> runningStatisticsRepository.deleteBucketsBefore(bucketsBefore, limit));
+
+        // 删除已结束的导出任务
+        String exportTasksBefore = today.minusDays(exportTaskDays).format(DateTimeFormatter.ISO_DATE);
+        for (String status : FINISHED_STATUSES) {
+            deleteInChunks("export_tasks", limit -> exportTaskRepository.deleteFinishedTasksBefore(status, exportTasksBefore, limit));
+        }
+
+        // 删除已结束的任务执行记录：统计任务只处理最近的批次，不会再次获取这些批次的租约
+        String jobExecutionsBefore = today.minusDays(jobExecutionDays).format(DateTimeFormatter.ISO_DATE);
+        for (String status : FINISHED_STATUSES) {
+            deleteInChunks("job_executions", limit -> jobExecutionRepository.deleteFinishedBefore(status, jobExecutionsBefore, limit));
+        }
+
+        // 物理删除已逻辑删除的 Offer
+        deleteInChunks("offers",
+                limit -> offerRepository.purgeDeletedBefore(today.minusDays(deletedOfferDays).atStartOfDay(), limit));
+
+        log.info("Retention cleanup task completed");
+    }
+
+    /**
+     * 分批删除直到没有符合条件的数据，每批在自动提交模式下单独提交
+     *
+     * @param target      清理对象，用作指标标签
+     * @param deleteChunk 删除一批数据，参数为每批最多删除的行数，返回实际删除的行数
+     * @return 删除的总行数
+     */
+    private long deleteInChunks(String target, IntUnaryOperator deleteChunk) {
+        long total = 0;
+        int deleted;
+        do {
+            deleted = deleteChunk.applyAsInt(chunkSize);
+            total += deleted;
+            meterRegistry.counter(METRIC_DELETED_ROWS, "target", target).increment(deleted);
+            if (deleted == chunkSize) {
+                pause();
+            }
+        } while (deleted == chunkSize);
+
+        log.info("Deleted {} expired rows from {}", total, target);
+        return total;
+    }
+
+    private void pause() {
+        if (pauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Retention cleanup interrupted", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.offershow.task;
+
+import com.offershow.model.entity.RunningStatistics;
+import com.offershow.model.entity.SalaryCubeCell;
+import com.offershow.model.entity.Statistics;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 薪资累加器
+ * 以分为单位累加有效薪资，样本数包含薪资无效的Offer，与原统计口径一致
+ */
+@Getter
+public class SalaryAccumulator {
+
+    /**
+     * 有效薪资总和 (分)
+     */
+    private long sumCents;
+
+    /**
+     * 有效薪资数量
+     */
+    private int validCount;
+
+    /**
+     * 样本数量
+     */
+    private int count;
+
+    /**
+     * 最低有效薪资 (分)，没有有效薪资时为null
+     */
+    private Long minCents;
+
+    /**
+     * 最高有效薪资 (分)，没有有效薪资时为null
+     */
+    private Long maxCents;
+
+    /**
+     * 从已持久化的聚合值恢复累加器，不包含最值
+     *
+     * @param row 实时聚合记录
+     * @return 累加器
+     */
+    public static SalaryAccumulator of(RunningStatistics row) {
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+        accumulator.sumCents = row.getValueSumCents();
+        accumulator.validCount = row.getValueCount();
+        accumulator.count = row.getSampleCount();
+        return accumulator;
+    }
+
+    /**
+     * 从已持久化的立方体单元恢复累加器
+     *
+     * @param cell 立方体单元
+     * @return 累加器
+     */
+    public static SalaryAccumulator of(SalaryCubeCell cell) {
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+        accumulator.sumCents = cell.getValueSumCents();
+        accumulator.validCount = cell.getValueCount();
+        accumulator.count = cell.getSampleCount();
+        accumulator.minCents = cell.getMinCents();
+        accumulator.maxCents = cell.getMaxCents();
+        return accumulator;
+    }
+
+    /**
+     * 从已持久化的部分聚合恢复累加器，不包含最值
+     *
+     * @param statistics 统计信息
+     * @return 累加器
+     */
+    public static SalaryAccumulator of(Statistics statistics) {
+        SalaryAccumulator accumulator = new SalaryAccumulator();
+        accumulator.sumCents = statistics.getValueSum() == null ? 0L : statistics.getValueSum().movePointRight(2).longValue();
+        accumulator.validCount = statistics.getValueCount() == null ? 0 : statistics.getValueCount();
+        accumulator.count = statistics.getCount() == null ? 0 : statistics.getCount();
+        return accumulator;
+    }
+
+    /**
+     * 累加一条Offer的薪资
+     *
+     * @param totalCents 总薪资 (分)，小于等于0时只计入样本数
+     */
+    public void add(long totalCents) {
+        count++;
+        if (totalCents > 0) {
+            sumCents += totalCents;
+            validCount++;
+            minCents = minCents == null ? totalCents : Math.min(minCents, totalCents);
+            maxCents = maxCents == null ? totalCents : Math.max(maxCents, totalCents);
+        }
+    }
+
+    /**
+     * 合并另一个累加器
+     *
+     * @param other 另一个累加器
+     */
+    public void merge(SalaryAccumulator other) {
+        sumCents += other.sumCents;
+        validCount += other.validCount;
+        count += other.count;
+        if (other.minCents != null) {
+            minCents = minCents == null ? other.minCents : Math.min(minCents, other.minCents);
+            maxCents = maxCents == null ? other.maxCents : Math.max(maxCents, other.maxCents);
+        }
+    }
+
+    /**
+     * 计算平均薪资
+     *
+     * @return 平均薪资，保留两位小数
+     */
+    public BigDecimal average() {
+        if (validCount == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.valueOf(sumCents, 2).divide(BigDecimal.valueOf(validCount), 2, RoundingMode.HALF_UP);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.offershow.task;
+
+import com.offershow.model.entity.OfferSalaryFact;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 薪资多维度聚合器
+ * 在一次遍历中同时更新总体、公司、职位、城市维度的累加器。
+ * 通过 {@link #aggregate(Collection)} 使用并行流在多核上分片聚合后合并。
+ */
+@Getter
+public class SalaryAggregator {
+
+    /**
+     * 总体累加器
+     */
+    private final SalaryAccumulator total = new SalaryAccumulator();
+
+    /**
+     * 公司 -> 累加器
+     */
+    private final Map<String, SalaryAccumulator> byCompany = new HashMap<>();
+
+    /**
+     * 职位 -> 累加器
+     */
+    private final Map<String, SalaryAccumulator> byPosition = new HashMap<>();
+
+    /**
+     * 城市 -> 累加器
+     */
+    private final Map<String, SalaryAccumulator> byCity = new HashMap<>();
+
+    /**
+     * 并行聚合Offer列表
+     *
+     * @param offers Offer统计字段列表
+     * @return 聚合结果
+     */
+    public static SalaryAggregator aggregate(Collection<OfferSalaryFact> offers) {
+        return offers.parallelStream().collect(SalaryAggregator::new, SalaryAggregator::accept, SalaryAggregator::merge);
+    }
+
+    /**
+     * 累加一条Offer
+     *
+     * @param offer Offer统计字段
+     */
+    public void accept(OfferSalaryFact offer) {
+        long totalCents = offer.getTotalCents();
+        total.add(totalCents);
+        add(byCompany, offer.getCompanyName(), totalCents);
+        add(byPosition, offer.getPosition(), totalCents);
+        add(byCity, offer.getCity(), totalCents);
+    }
+
+    /**
+     * 合并另一个聚合器
+     *
+     * @param other 另一个聚合器
+     */
+    public void merge(SalaryAggregator other) {
+        total.merge(other.total);
+        merge(byCompany, other.byCompany);
+        merge(byPosition, other.byPosition);
+        merge(byCity, other.byCity);
+    }
+
+    private static void add(Map<String, SalaryAccumulator> accumulators, String key, long totalCents) {
+        if (key == null) {
+            return;
+        }
+        accumulators.computeIfAbsent(key, k -> new SalaryAccumulator()).add(totalCents);
+    }
+
+    private static void merge(Map<String, SalaryAccumulator> target, Map<String, SalaryAccumulator> source) {
+        for (Map.Entry<String, SalaryAccumulator> entry : source.entrySet()) {
+            target.computeIfAbsent(entry.getKey(), k -> new SalaryAccumulator()).merge(entry.getValue());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.offershow.task;
+
+import com.offershow.model.entity.OfferSalaryFact;
+import com.offershow.model.entity.SalaryCubeCell;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 薪资多维立方体构建器
+ * 一次遍历把一天的Offer累加到 (公司, 职位, 城市, 工作年限区间) 单元，只生成有数据的单元
+ */
+public class SalaryCubeBuilder {
+
+    /**
+     * (公司, 职位, 城市, 工作年限区间) -> 累加器
+     */
+    private final Map<List<String>, SalaryAccumulator> cells = new HashMap<>();
+
+    /**
+     * 累加一条Offer
+     *
+     * @param offer Offer统计字段
+     */
+    public void accept(OfferSalaryFact offer) {
+        List<String> key = Arrays.asList(offer.getCompanyName(), offer.getPosition(), offer.getCity(),
+                workYearBand(offer.getWorkYears()));
+        cells.computeIfAbsent(key, k -> new SalaryAccumulator()).add(offer.getTotalCents());
+    }
+
+    /**
+     * 生成立方体单元
+     *
+     * @param cellDate 日期
+     * @return 立方体单元列表
+     */
+    public List<SalaryCubeCell> toCells(LocalDate cellDate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<SalaryCubeCell> result = new ArrayList<>(cells.size());
+        for (Map.Entry<List<String>, SalaryAccumulator> entry : cells.entrySet()) {
+            List<String> key = entry.getKey();
+            SalaryAccumulator accumulator = entry.getValue();
+            result.add(SalaryCubeCell.builder()
+                    .cellDate(cellDate)
+                    .companyName(key.get(0))
+                    .position(key.get(1))
+                    .city(key.get(2))
+                    .workYearBand(key.get(3))
+                    .sampleCount(accumulator.getCount())
+                    .valueSumCents(accumulator.getSumCents())
+                    .valueCount(accumulator.getValidCount())
+                    .minCents(accumulator.getMinCents())
+                    .maxCents(accumulator.getMaxCents())
+                    .updatedAt(now)
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * 工作年限区间
+     *
+     * @param workYears 工作年限
+     * @return 区间 (0-1/1-3/3-5/5-10/10+)
+     */
+    public static String workYearBand(Integer workYears) {
+        int years = workYears == null ? 0 : workYears;
+        if (years < 1) {
+            return "0-1";
+        } else if (years < 3) {
+            return "1-3";
+        } else if (years < 5) {
+            return "3-5";
+        } else if (years < 10) {
+            return "5-10";
+        }
+        return "10+";
+    }
+}
\ No newline at end of file
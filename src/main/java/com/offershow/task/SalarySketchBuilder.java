@@ -0,0 +1,65 @@
+package com.offershow.task;
+
+import com.offershow.model.entity.OfferSalaryFact;
+import com.offershow.service.RunningSalaryStatistics;
+import com.offershow.util.SalarySketch;
+import com.tdunning.math.stats.TDigest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 薪资分位数草图构建器
+ * 一次遍历为公司、职位、城市维度的每个维度值构建 t-digest 草图，只计入有效薪资 (元)
+ */
+public class SalarySketchBuilder {
+
+    private final double compression;
+
+    /**
+     * 统计维度 -> 维度值 -> 草图
+     */
+    private final Map<String, Map<String, TDigest>> digests = new HashMap<>();
+
+    public SalarySketchBuilder(double compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * 累加一条Offer
+     *
+     * @param offer Offer统计字段
+     */
+    public void accept(OfferSalaryFact offer) {
+        long totalCents = offer.getTotalCents();
+        if (totalCents <= 0) {
+            return;
+        }
+
+        double salary = totalCents / 100.0;
+        add(RunningSalaryStatistics.DIMENSION_COMPANY, offer.getCompanyName(), salary);
+        add(RunningSalaryStatistics.DIMENSION_POSITION, offer.getPosition(), salary);
+        add(RunningSalaryStatistics.DIMENSION_CITY, offer.getCity(), salary);
+    }
+
+    /**
+     * 获取序列化后的草图
+     *
+     * @param dimension      统计维度
+     * @param dimensionValue 维度值
+     * @return 字节数组，没有有效薪资时返回null
+     */
+    public byte[] toBytes(String dimension, String dimensionValue) {
+        Map<String, TDigest> byValue = digests.get(dimension);
+        return byValue == null ? null : SalarySketch.toBytes(byValue.get(dimensionValue));
+    }
+
+    private void add(String dimension, String dimensionValue, double salary) {
+        if (dimensionValue == null) {
+            return;
+        }
+        digests.computeIfAbsent(dimension, key -> new HashMap<>())
+                .computeIfAbsent(dimensionValue, key -> SalarySketch.create(compression))
+                .add(salary);
+    }
+}
\ No newline at end of file
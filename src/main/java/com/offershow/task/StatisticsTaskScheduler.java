@@ -1,24 +1,26 @@
 package com.offershow.task;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.offershow.model.entity.Offer;
+import com.offershow.model.entity.SalaryCubeCell;
 import com.offershow.model.entity.Statistics;
 import com.offershow.repository.OfferRepository;
+import com.offershow.repository.SalaryCubeRepository;
 import com.offershow.repository.StatisticsRepository;
+import com.offershow.service.RunningSalaryStatistics;
+import com.offershow.service.StatisticsResultCache;
+import com.offershow.util.BatchUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PostConstruct;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * 统计任务调度器
@@ -28,443 +30,484 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class StatisticsTaskScheduler {
 
-    private final OfferRepository offerRepository;
+    /**
+     * 每日、周度、月度统计各自写入的统计维度，重算时按日期和维度替换
+     */
+    private static final List<String> DAILY_DIMENSIONS = Arrays.asList("COMPANY", "POSITION", "CITY", "DAILY");
+    private static final List<String> WEEKLY_DIMENSIONS = Arrays.asList("WEEKLY", "WEEKLY_COMPANY");
+    private static final List<String> MONTHLY_DIMENSIONS = Arrays.asList("MONTHLY", "MONTHLY_COMPANY");
+
+    /**
+     * 周度、月度公司统计的最小样本数
+     */
+    private static final int WEEKLY_COMPANY_MIN_COUNT = 3;
+    private static final int MONTHLY_COMPANY_MIN_COUNT = 5;
+
     private final StatisticsRepository statisticsRepository;
-    private final ObjectMapper objectMapper;
+    private final SalaryCubeRepository salaryCubeRepository;
+    private final RunningSalaryStatistics runningSalaryStatistics;
+    private final OfferRepository offerRepository;
+    private final StatisticsResultCache statisticsResultCache;
+    private final JobCoordinator jobCoordinator;
+
+    @Value("${app.statistics.sketch.compression:100}")
+    private double sketchCompression;
+
+    @Value("${app.statistics.upsert-chunk-size:200}")
+    private int upsertChunkSize;
+
+    @Value("${app.statistics.aggregation.daily:JAVA}")
+    private AggregationMode dailyAggregationMode;
+
+    @Value("${app.statistics.aggregation.weekly:JAVA}")
+    private AggregationMode weeklyAggregationMode;
+
+    @Value("${app.statistics.aggregation.monthly:JAVA}")
+    private AggregationMode monthlyAggregationMode;
+
+    @Value("${app.statistics.aggregation.pushdown-verified:false}")
+    private boolean pushdownVerified;
+
+    /**
+     * 统计聚合方式
+     */
+    public enum AggregationMode {
+        /**
+         * 流式读取统计字段在应用内聚合，生成分位数草图
+         */
+        JAVA,
+        /**
+         * 在数据库内 GROUP BY ... WITH ROLLUP 聚合后 INSERT ... SELECT 写入，不读取原始数据，不生成分位数草图
+         */
+        PUSHDOWN
+    }
+
+    /**
+     * 下推聚合的 SQL 依赖 MySQL 8.0.21+ 的语法和聚合结果，需要先在目标数据库上通过 StatisticsPushdownParityTest 验证与应用内聚合一致才能启用
+     */
+    @PostConstruct
+    public void checkAggregationModes() {
+        boolean pushdown = dailyAggregationMode == AggregationMode.PUSHDOWN
+                || weeklyAggregationMode == AggregationMode.PUSHDOWN
+                || monthlyAggregationMode == AggregationMode.PUSHDOWN;
+        if (pushdown && !pushdownVerified) {
+            throw new IllegalStateException("PUSHDOWN statistics aggregation has not been verified on this database: "
+                    + "run StatisticsPushdownParityTest against it and set app.statistics.aggregation.pushdown-verified=true");
+        }
+    }
 
     /**
      * 每日薪资统计任务
-     * 每天凌晨1:00执行
+     * 每天凌晨1:00执行，多个实例中只有获取到租约的节点执行
      */
     @Scheduled(cron = "${app.task.statistics.cron.daily}")
-    @Transactional
     public void dailySalaryStatistics() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        jobCoordinator.runExclusively("dailySalaryStatistics", yesterday.format(DateTimeFormatter.ISO_DATE),
+                () -> runDailySalaryStatistics(yesterday));
+    }
+
+    /**
+     * 每周趋势统计任务
+     * 每周一凌晨2:00执行，多个实例中只有获取到租约的节点执行
+     */
+    @Scheduled(cron = "${app.task.statistics.cron.weekly}")
+    public void weeklyTrendStatistics() {
+        LocalDate lastWeekEnd = LocalDate.now().minusDays(1);
+        jobCoordinator.runExclusively("weeklyTrendStatistics", lastWeekEnd.format(DateTimeFormatter.ISO_DATE),
+                () -> runWeeklyTrendStatistics(lastWeekEnd));
+    }
+
+    /**
+     * 每月报表生成任务
+     * 每月1日凌晨3:00执行，多个实例中只有获取到租约的节点执行
+     */
+    @Scheduled(cron = "${app.task.statistics.cron.monthly}")
+    public void monthlyReportStatistics() {
+        // 获取上个月的最后一天
+        LocalDate now = LocalDate.now();
+        LocalDate lastMonthEnd = now.minusDays(now.getDayOfMonth());
+        jobCoordinator.runExclusively("monthlyReportStatistics", lastMonthEnd.format(DateTimeFormatter.ISO_DATE),
+                () -> runMonthlyReportStatistics(lastMonthEnd));
+    }
+
+    private void runDailySalaryStatistics(LocalDate yesterday) {
         log.info("Starting daily salary statistics task...");
 
-        LocalDate yesterday = LocalDate.now().minusDays(1);
         String dateStr = yesterday.format(DateTimeFormatter.ISO_DATE);
 
-        // 检查是否已经生成过统计数据
+        // 检查是否已经生成过统计数据 (如手动回填过)
         int count = statisticsRepository.checkStatisticsExists("SALARY", "COMPANY", dateStr);
         if (count > 0) {
             log.info("Daily salary statistics for {} already exists, skipping...", dateStr);
             return;
         }
 
-        // 查询昨天的所有Offer数据
-        String startDate = dateStr + " 00:00:00";
-        String endDate = dateStr + " 23:59:59";
-        List<Offer> offers = offerRepository.findByDateRange(startDate, endDate);
-
-        if (offers.isEmpty()) {
-            log.info("No offers found for {}, skipping statistics generation", dateStr);
-            return;
+        // 首次部署后初始化完成前，昨天的分桶只包含部署后的写操作，先从原始数据重算
+        if (dailyAggregationMode != AggregationMode.PUSHDOWN) {
+            runningSalaryStatistics.ensureSeeded(yesterday);
         }
 
-        // 按公司分组统计
-        generateCompanySalaryStatistics(offers, yesterday);
-
-        // 按职位分组统计
-        generatePositionSalaryStatistics(offers, yesterday);
-
-        // 按城市分组统计
-        generateCitySalaryStatistics(offers, yesterday);
+        generateDailyStatistics(yesterday, dailyAggregationMode);
+        statisticsResultCache.bumpGeneration();
 
         log.info("Daily salary statistics task completed for {}", dateStr);
     }
 
-    /**
-     * 每周趋势统计任务
-     * 每周一凌晨2:00执行
-     */
-    @Scheduled(cron = "${app.task.statistics.cron.weekly}")
-    @Transactional
-    public void weeklyTrendStatistics() {
+    private void runWeeklyTrendStatistics(LocalDate lastWeekEnd) {
         log.info("Starting weekly trend statistics task...");
 
-        LocalDate lastWeekStart = LocalDate.now().minusDays(7);
-        LocalDate lastWeekEnd = LocalDate.now().minusDays(1);
-
-        String startDate = lastWeekStart.format(DateTimeFormatter.ISO_DATE) + " 00:00:00";
-        String endDate = lastWeekEnd.format(DateTimeFormatter.ISO_DATE) + " 23:59:59";
-
-        // 检查是否已经生成过统计数据
+        // 检查是否已经生成过统计数据 (如手动回填过)
         int count = statisticsRepository.checkStatisticsExists("TREND", "WEEKLY", lastWeekEnd.format(DateTimeFormatter.ISO_DATE));
         if (count > 0) {
             log.info("Weekly trend statistics for week ending {} already exists, skipping...", lastWeekEnd);
             return;
         }
 
-        // 查询上周的所有Offer数据
-        List<Offer> offers = offerRepository.findByDateRange(startDate, endDate);
-
-        if (offers.isEmpty()) {
-            log.info("No offers found for week ending {}, skipping statistics generation", lastWeekEnd);
-            return;
-        }
-
-        // 生成周度趋势统计
-        generateWeeklyTrendStatistics(offers, lastWeekEnd);
+        generateWeeklyStatistics(lastWeekEnd, weeklyAggregationMode);
+        statisticsResultCache.bumpGeneration();
 
         log.info("Weekly trend statistics task completed for week ending {}", lastWeekEnd);
     }
 
-    /**
-     * 每月报表生成任务
-     * 每月1日凌晨3:00执行
-     */
-    @Scheduled(cron = "${app.task.statistics.cron.monthly}")
-    @Transactional
-    public void monthlyReportStatistics() {
+    private void runMonthlyReportStatistics(LocalDate lastMonthEnd) {
         log.info("Starting monthly report statistics task...");
 
-        // 获取上个月的日期范围
-        LocalDate now = LocalDate.now();
-        LocalDate lastMonthEnd = now.minusDays(now.getDayOfMonth());
-        LocalDate lastMonthStart = lastMonthEnd.withDayOfMonth(1);
-
-        String startDate = lastMonthStart.format(DateTimeFormatter.ISO_DATE) + " 00:00:00";
-        String endDate = lastMonthEnd.format(DateTimeFormatter.ISO_DATE) + " 23:59:59";
-
-        // 检查是否已经生成过统计数据
+        // 检查是否已经生成过统计数据 (如手动回填过)
         int count = statisticsRepository.checkStatisticsExists("TREND", "MONTHLY", lastMonthEnd.format(DateTimeFormatter.ISO_DATE));
         if (count > 0) {
             log.info("Monthly report statistics for month ending {} already exists, skipping...", lastMonthEnd);
             return;
         }
 
-        // 查询上月的所有Offer数据
-        List<Offer> offers = offerRepository.findByDateRange(startDate, endDate);
+        generateMonthlyStatistics(lastMonthEnd, monthlyAggregationMode);
+        statisticsResultCache.bumpGeneration();
 
-        if (offers.isEmpty()) {
-            log.info("No offers found for month ending {}, skipping statistics generation", lastMonthEnd);
-            return;
-        }
+        log.info("Monthly report statistics task completed for month ending {}", lastMonthEnd);
+    }
 
-        // 生成月度趋势统计
-        generateMonthlyTrendStatistics(offers, lastMonthEnd);
+    /**
+     * 从原始数据重算指定日期的每日统计，在同一事务内替换已有的统计数据
+     *
+     * @param date 统计日期
+     */
+    @Transactional
+    public void recomputeDailyStatistics(LocalDate date) {
+        recomputeDailyStatistics(date, dailyAggregationMode);
+    }
 
-        // 生成公司维度的月度统计
-        generateCompanyMonthlyStatistics(offers, lastMonthEnd);
+    /**
+     * 按指定的聚合方式重算指定日期的每日统计
+     *
+     * @param date 统计日期
+     * @param mode 聚合方式
+     */
+    @Transactional
+    public void recomputeDailyStatistics(LocalDate date, AggregationMode mode) {
+        statisticsRepository.deleteByDateAndDimensions(date, DAILY_DIMENSIONS);
+        salaryCubeRepository.deleteByDate(date);
+        runningSalaryStatistics.rebuildBucket(date);
+        generateDailyStatistics(date, mode);
+        statisticsResultCache.bumpGeneration();
+    }
 
-        log.info("Monthly report statistics task completed for month ending {}", lastMonthEnd);
+    /**
+     * 重算截止到指定日期的周度趋势统计，在同一事务内替换已有的统计数据
+     *
+     * @param weekEnd 周结束日期
+     */
+    @Transactional
+    public void recomputeWeeklyStatistics(LocalDate weekEnd) {
+        recomputeWeeklyStatistics(weekEnd, weeklyAggregationMode);
     }
 
     /**
-     * 清理过期统计数据
-     * 每月15日凌晨4:00执行
+     * 按指定的聚合方式重算截止到指定日期的周度趋势统计
+     *
+     * @param weekEnd 周结束日期
+     * @param mode    聚合方式
      */
-    @Scheduled(cron = "0 0 4 15 * ?")
     @Transactional
-    public void cleanupOldStatistics() {
-        log.info("Starting statistics cleanup task...");
+    public void recomputeWeeklyStatistics(LocalDate weekEnd, AggregationMode mode) {
+        statisticsRepository.deleteByDateAndDimensions(weekEnd, WEEKLY_DIMENSIONS);
+        generateWeeklyStatistics(weekEnd, mode);
+        statisticsResultCache.bumpGeneration();
+    }
 
-        // 删除一年前的统计数据
-        LocalDate oneYearAgo = LocalDate.now().minusYears(1);
-        String dateStr = oneYearAgo.format(DateTimeFormatter.ISO_DATE);
+    /**
+     * 重算指定月份的月度统计，在同一事务内替换已有的统计数据
+     *
+     * @param monthEnd 月份最后一天
+     */
+    @Transactional
+    public void recomputeMonthlyStatistics(LocalDate monthEnd) {
+        recomputeMonthlyStatistics(monthEnd, monthlyAggregationMode);
+    }
 
-        int deletedCount = statisticsRepository.deleteStatisticsBefore(dateStr);
-        log.info("Deleted {} old statistics records before {}", deletedCount, dateStr);
+    /**
+     * 按指定的聚合方式重算指定月份的月度统计
+     *
+     * @param monthEnd 月份最后一天
+     * @param mode     聚合方式
+     */
+    @Transactional
+    public void recomputeMonthlyStatistics(LocalDate monthEnd, AggregationMode mode) {
+        statisticsRepository.deleteByDateAndDimensions(monthEnd, MONTHLY_DIMENSIONS);
+        generateMonthlyStatistics(monthEnd, mode);
+        statisticsResultCache.bumpGeneration();
     }
 
     /**
-     * 生成公司维度的薪资统计
+     * 生成指定日期的每日统计
      *
-     * @param offers       Offer列表
-     * @param statisticDate 统计日期
+     * @param date 统计日期
+     * @param mode 聚合方式
      */
-    private void generateCompanySalaryStatistics(List<Offer> offers, LocalDate statisticDate) {
-        // 按公司分组
-        Map<String, List<Offer>> offersByCompany = offers.stream()
-                .collect(Collectors.groupingBy(Offer::getCompanyName));
-
-        List<Statistics> statisticsList = new ArrayList<>();
-
-        for (Map.Entry<String, List<Offer>> entry : offersByCompany.entrySet()) {
-            String company = entry.getKey();
-            List<Offer> companyOffers = entry.getValue();
-
-            // 计算平均薪资
-            BigDecimal avgSalary = calculateAverageSalary(companyOffers);
-
-            // 创建统计记录
-            Statistics statistics = Statistics.builder()
-                    .statisticType("SALARY")
-                    .dimension("COMPANY")
-                    .dimensionValue(company)
-                    .statisticValue(avgSalary)
-                    .count(companyOffers.size())
-                    .statisticDate(statisticDate)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            statisticsList.add(statistics);
+    private void generateDailyStatistics(LocalDate date, AggregationMode mode) {
+        String dateStr = date.format(DateTimeFormatter.ISO_DATE);
+        if (mode == AggregationMode.PUSHDOWN) {
+            // 没有数据时同样保留总体的空部分聚合，有数据时被下推聚合的结果覆盖
+            upsertStatistics(Collections.singletonList(buildStatistics("TREND", "DAILY", "ALL", new SalaryAccumulator(), date)));
+            statisticsRepository.pushdownDailyStatistics(dateStr + " 00:00:00", dateStr + " 23:59:59", date);
+            salaryCubeRepository.pushdownCells(dateStr + " 00:00:00", dateStr + " 23:59:59", date);
+            return;
+        }
+
+        // 读取当天已完成的实时聚合分桶
+        Map<String, Map<String, SalaryAccumulator>> summary = runningSalaryStatistics.summarize(date, date,
+                RunningSalaryStatistics.DIMENSION_ALL, RunningSalaryStatistics.DIMENSION_COMPANY,
+                RunningSalaryStatistics.DIMENSION_POSITION, RunningSalaryStatistics.DIMENSION_CITY);
+
+        // 每天都写入总体的部分聚合，周度和月度统计据此判断该日已有可合并的数据
+        SalaryAccumulator total = summary.remove(RunningSalaryStatistics.DIMENSION_ALL)
+                .getOrDefault(RunningSalaryStatistics.DIMENSION_ALL, new SalaryAccumulator());
+        upsertStatistics(Collections.singletonList(buildStatistics("TREND", "DAILY", "ALL", total, date)));
+
+        if (total.getCount() == 0) {
+            log.info("No offers found for {}, skipping statistics generation", dateStr);
+            return;
         }
 
-        if (!statisticsList.isEmpty()) {
-            statisticsRepository.batchInsert(statisticsList);
+        // 分位数草图和多维立方体无法随写操作撤销，对当天的数据流式遍历一次构建
+        SalarySketchBuilder sketches = new SalarySketchBuilder(sketchCompression);
+        SalaryCubeBuilder cube = new SalaryCubeBuilder();
+        offerRepository.streamSalaryFacts(dateStr + " 00:00:00", dateStr + " 23:59:59", context -> {
+            sketches.accept(context.getResultObject());
+            cube.accept(context.getResultObject());
+        });
+
+        generateDimensionSalaryStatistics(summary, sketches, date);
+        for (List<SalaryCubeCell> chunk : BatchUtils.partition(cube.toCells(date), upsertChunkSize)) {
+            salaryCubeRepository.upsertBatch(chunk);
         }
     }
 
     /**
-     * 生成职位维度的薪资统计
+     * 生成截止到指定日期的周度统计
      *
-     * @param offers       Offer列表
-     * @param statisticDate 统计日期
+     * @param weekEnd 周结束日期
+     * @param mode    聚合方式
      */
-    private void generatePositionSalaryStatistics(List<Offer> offers, LocalDate statisticDate) {
-        // 按职位分组
-        Map<String, List<Offer>> offersByPosition = offers.stream()
-                .collect(Collectors.groupingBy(Offer::getPosition));
-
-        List<Statistics> statisticsList = new ArrayList<>();
-
-        for (Map.Entry<String, List<Offer>> entry : offersByPosition.entrySet()) {
-            String position = entry.getKey();
-            List<Offer> positionOffers = entry.getValue();
-
-            // 计算平均薪资
-            BigDecimal avgSalary = calculateAverageSalary(positionOffers);
-
-            // 创建统计记录
-            Statistics statistics = Statistics.builder()
-                    .statisticType("SALARY")
-                    .dimension("POSITION")
-                    .dimensionValue(position)
-                    .statisticValue(avgSalary)
-                    .count(positionOffers.size())
-                    .statisticDate(statisticDate)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            statisticsList.add(statistics);
+    private void generateWeeklyStatistics(LocalDate weekEnd, AggregationMode mode) {
+        if (mode == AggregationMode.PUSHDOWN) {
+            statisticsRepository.pushdownTrendStatistics(weekEnd.minusDays(6).format(DateTimeFormatter.ISO_DATE) + " 00:00:00",
+                    weekEnd.format(DateTimeFormatter.ISO_DATE) + " 23:59:59", "WEEKLY", "WEEKLY_COMPANY",
+                    WEEKLY_COMPANY_MIN_COUNT, weekEnd);
+            return;
         }
 
-        if (!statisticsList.isEmpty()) {
-            statisticsRepository.batchInsert(statisticsList);
+        // 合并一周每天的部分聚合
+        Map<String, Map<String, SalaryAccumulator>> summary = mergeDailyPartials(weekEnd.minusDays(6), weekEnd);
+        SalaryAccumulator total = summary.get(RunningSalaryStatistics.DIMENSION_ALL).get(RunningSalaryStatistics.DIMENSION_ALL);
+
+        if (total == null || total.getCount() == 0) {
+            log.info("No offers found for week ending {}, skipping statistics generation", weekEnd);
+            return;
         }
+
+        // 生成周度趋势统计
+        generateWeeklyTrendStatistics(total, summary.get(RunningSalaryStatistics.DIMENSION_COMPANY), weekEnd);
     }
 
     /**
-     * 生成城市维度的薪资统计
+     * 生成指定月份的月度统计
      *
-     * @param offers       Offer列表
-     * @param statisticDate 统计日期
+     * @param monthEnd 月份最后一天
+     * @param mode     聚合方式
      */
-    private void generateCitySalaryStatistics(List<Offer> offers, LocalDate statisticDate) {
-        // 按城市分组
-        Map<String, List<Offer>> offersByCity = offers.stream()
-                .collect(Collectors.groupingBy(Offer::getCity));
-
-        List<Statistics> statisticsList = new ArrayList<>();
-
-        for (Map.Entry<String, List<Offer>> entry : offersByCity.entrySet()) {
-            String city = entry.getKey();
-            List<Offer> cityOffers = entry.getValue();
-
-            // 计算平均薪资
-            BigDecimal avgSalary = calculateAverageSalary(cityOffers);
-
-            // 创建统计记录
-            Statistics statistics = Statistics.builder()
-                    .statisticType("SALARY")
-                    .dimension("CITY")
-                    .dimensionValue(city)
-                    .statisticValue(avgSalary)
-                    .count(cityOffers.size())
-                    .statisticDate(statisticDate)
-                    .createdAt(LocalDateTime.now())
-                    .build();
-
-            statisticsList.add(statistics);
+    private void generateMonthlyStatistics(LocalDate monthEnd, AggregationMode mode) {
+        if (mode == AggregationMode.PUSHDOWN) {
+            statisticsRepository.pushdownTrendStatistics(monthEnd.withDayOfMonth(1).format(DateTimeFormatter.ISO_DATE) + " 00:00:00",
+                    monthEnd.format(DateTimeFormatter.ISO_DATE) + " 23:59:59", "MONTHLY", "MONTHLY_COMPANY",
+                    MONTHLY_COMPANY_MIN_COUNT, monthEnd);
+            return;
         }
 
-        if (!statisticsList.isEmpty()) {
-            statisticsRepository.batchInsert(statisticsList);
+        // 合并一个月每天的部分聚合
+        Map<String, Map<String, SalaryAccumulator>> summary = mergeDailyPartials(monthEnd.withDayOfMonth(1), monthEnd);
+        SalaryAccumulator total = summary.get(RunningSalaryStatistics.DIMENSION_ALL).get(RunningSalaryStatistics.DIMENSION_ALL);
+
+        if (total == null || total.getCount() == 0) {
+            log.info("No offers found for month ending {}, skipping statistics generation", monthEnd);
+            return;
         }
+
+        // 生成月度趋势统计
+        generateMonthlyTrendStatistics(total, monthEnd);
+
+        // 生成公司维度的月度统计
+        generateCompanyMonthlyStatistics(summary.get(RunningSalaryStatistics.DIMENSION_COMPANY), monthEnd);
     }
 
     /**
-     * 生成周度趋势统计
+     * 合并日期范围内每天的部分聚合 (总体和公司维度)
+     * 优先使用每日任务写入的部分聚合，没有每日统计的日期回退到实时聚合分桶 (尚未初始化的分桶先重算)，耗时只与天数和维度值数量相关
      *
-     * @param offers       Offer列表
-     * @param statisticDate 统计日期
+     * @param startDate 开始日期 (包含)
+     * @param endDate   结束日期 (包含)
+     * @return 统计维度 -> 维度值 -> 累加器
      */
-    private void generateWeeklyTrendStatistics(List<Offer> offers, LocalDate statisticDate) {
-        // 计算总平均薪资
-        BigDecimal avgSalary = calculateAverageSalary(offers);
-
-        // 创建统计记录
-        Statistics statistics = Statistics.builder()
-                .statisticType("TREND")
-                .dimension("WEEKLY")
-                .dimensionValue("ALL")
-                .statisticValue(avgSalary)
-                .count(offers.size())
-                .statisticDate(statisticDate)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        statisticsRepository.insert(statistics);
-
-        // 按公司分组生成周度趋势
-        Map<String, List<Offer>> offersByCompany = offers.stream()
-                .collect(Collectors.groupingBy(Offer::getCompanyName));
-
-        List<Statistics> companyStatistics = new ArrayList<>();
+    private Map<String, Map<String, SalaryAccumulator>> mergeDailyPartials(LocalDate startDate, LocalDate endDate) {
+        Map<String, SalaryAccumulator> total = new HashMap<>();
+        Map<String, SalaryAccumulator> byCompany = new HashMap<>();
+        for (Statistics partial : statisticsRepository.sumDailyPartials("TREND", "DAILY", startDate, endDate)) {
+            mergeInto(total, RunningSalaryStatistics.DIMENSION_ALL, SalaryAccumulator.of(partial));
+        }
+        for (Statistics partial : statisticsRepository.sumDailyPartials("SALARY", "COMPANY", startDate, endDate)) {
+            mergeInto(byCompany, partial.getDimensionValue(), SalaryAccumulator.of(partial));
+        }
 
-        for (Map.Entry<String, List<Offer>> entry : offersByCompany.entrySet()) {
-            String company = entry.getKey();
-            List<Offer> companyOffers = entry.getValue();
+        Set<LocalDate> coveredDates = new HashSet<>(statisticsRepository.findStatisticDates("TREND", "DAILY", startDate, endDate));
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (coveredDates.contains(date)) {
+                continue;
+            }
+            runningSalaryStatistics.ensureSeeded(date);
+            Map<String, Map<String, SalaryAccumulator>> day = runningSalaryStatistics.summarize(date, date,
+                    RunningSalaryStatistics.DIMENSION_ALL, RunningSalaryStatistics.DIMENSION_COMPANY);
+            day.get(RunningSalaryStatistics.DIMENSION_ALL).forEach((key, value) -> mergeInto(total, key, value));
+            day.get(RunningSalaryStatistics.DIMENSION_COMPANY).forEach((key, value) -> mergeInto(byCompany, key, value));
+        }
 
-            if (companyOffers.size() >= 3) { // 只统计样本数大于等于3的公司
-                BigDecimal companyAvgSalary = calculateAverageSalary(companyOffers);
+        Map<String, Map<String, SalaryAccumulator>> summary = new HashMap<>();
+        summary.put(RunningSalaryStatistics.DIMENSION_ALL, total);
+        summary.put(RunningSalaryStatistics.DIMENSION_COMPANY, byCompany);
+        return summary;
+    }
 
-                Statistics companyStats = Statistics.builder()
-                        .statisticType("TREND")
-                        .dimension("WEEKLY_COMPANY")
-                        .dimensionValue(company)
-                        .statisticValue(companyAvgSalary)
-                        .count(companyOffers.size())
-                        .statisticDate(statisticDate)
-                        .createdAt(LocalDateTime.now())
-                        .build();
+    private void mergeInto(Map<String, SalaryAccumulator> target, String key, SalaryAccumulator accumulator) {
+        target.computeIfAbsent(key, k -> new SalaryAccumulator()).merge(accumulator);
+    }
 
-                companyStatistics.add(companyStats);
+    /**
+     * 生成公司、职位、城市维度的薪资统计
+     *
+     * @param summary       统计维度 -> 维度值 -> 累加器
+     * @param sketches      分位数草图
+     * @param statisticDate 统计日期
+     */
+    private void generateDimensionSalaryStatistics(Map<String, Map<String, SalaryAccumulator>> summary,
+                                                   SalarySketchBuilder sketches, LocalDate statisticDate) {
+        for (Map.Entry<String, Map<String, SalaryAccumulator>> entry : summary.entrySet()) {
+            List<Statistics> statisticsList = buildStatistics("SALARY", entry.getKey(), entry.getValue(), 0, statisticDate);
+            for (Statistics statistics : statisticsList) {
+                statistics.setSalarySketch(sketches.toBytes(entry.getKey(), statistics.getDimensionValue()));
             }
+            upsertStatistics(statisticsList);
         }
+    }
 
-        if (!companyStatistics.isEmpty()) {
-            statisticsRepository.batchInsert(companyStatistics);
-        }
+    /**
+     * 生成周度趋势统计
+     *
+     * @param total         总体累加器
+     * @param byCompany     公司 -> 累加器
+     * @param statisticDate 统计日期
+     */
+    private void generateWeeklyTrendStatistics(SalaryAccumulator total, Map<String, SalaryAccumulator> byCompany,
+                                               LocalDate statisticDate) {
+        upsertStatistics(Collections.singletonList(buildStatistics("TREND", "WEEKLY", "ALL", total, statisticDate)));
+
+        // 只统计样本数大于等于3的公司
+        upsertStatistics(buildStatistics("TREND", "WEEKLY_COMPANY", byCompany, WEEKLY_COMPANY_MIN_COUNT, statisticDate));
     }
 
     /**
      * 生成月度趋势统计
      *
-     * @param offers       Offer列表
+     * @param total         总体累加器
      * @param statisticDate 统计日期
      */
-    private void generateMonthlyTrendStatistics(List<Offer> offers, LocalDate statisticDate) {
-        // 计算总平均薪资
-        BigDecimal avgSalary = calculateAverageSalary(offers);
-
-        // 创建统计记录
-        Statistics statistics = Statistics.builder()
-                .statisticType("TREND")
-                .dimension("MONTHLY")
-                .dimensionValue("ALL")
-                .statisticValue(avgSalary)
-                .count(offers.size())
-                .statisticDate(statisticDate)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        statisticsRepository.insert(statistics);
+    private void generateMonthlyTrendStatistics(SalaryAccumulator total, LocalDate statisticDate) {
+        upsertStatistics(Collections.singletonList(buildStatistics("TREND", "MONTHLY", "ALL", total, statisticDate)));
     }
 
     /**
      * 生成公司维度的月度统计
      *
-     * @param offers       Offer列表
+     * @param byCompany     公司 -> 累加器
      * @param statisticDate 统计日期
      */
-    private void generateCompanyMonthlyStatistics(List<Offer> offers, LocalDate statisticDate) {
-        // 按公司分组
-        Map<String, List<Offer>> offersByCompany = offers.stream()
-                .collect(Collectors.groupingBy(Offer::getCompanyName));
-
-        List<Statistics> statisticsList = new ArrayList<>();
-
-        for (Map.Entry<String, List<Offer>> entry : offersByCompany.entrySet()) {
-            String company = entry.getKey();
-            List<Offer> companyOffers = entry.getValue();
-
-            if (companyOffers.size() >= 5) { // 只统计样本数大于等于5的公司
-                BigDecimal avgSalary = calculateAverageSalary(companyOffers);
-
-                Statistics statistics = Statistics.builder()
-                        .statisticType("TREND")
-                        .dimension("MONTHLY_COMPANY")
-                        .dimensionValue(company)
-                        .statisticValue(avgSalary)
-                        .count(companyOffers.size())
-                        .statisticDate(statisticDate)
-                        .createdAt(LocalDateTime.now())
-                        .build();
-
-                statisticsList.add(statistics);
-            }
-        }
-
-        if (!statisticsList.isEmpty()) {
-            statisticsRepository.batchInsert(statisticsList);
-        }
+    private void generateCompanyMonthlyStatistics(Map<String, SalaryAccumulator> byCompany, LocalDate statisticDate) {
+        // 只统计样本数大于等于5的公司
+        upsertStatistics(buildStatistics("TREND", "MONTHLY_COMPANY", byCompany, MONTHLY_COMPANY_MIN_COUNT, statisticDate));
     }
 
     /**
-     * 计算平均薪资
+     * 根据维度累加器构建统计记录
      *
-     * @param offers Offer列表
-     * @return 平均薪资
+     * @param statisticType 统计类型
+     * @param dimension     统计维度
+     * @param accumulators  维度值 -> 累加器
+     * @param minCount      最小样本数，样本数不足的维度值不生成统计记录
+     * @param statisticDate 统计日期
+     * @return 统计记录列表
      */
-    private BigDecimal calculateAverageSalary(List<Offer> offers) {
-        if (offers == null || offers.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal totalSalary = BigDecimal.ZERO;
-        int validCount = 0;
-
-        for (Offer offer : offers) {
-            try {
-                // 解析薪资结构JSON
-                Map<String, Object> salaryMap = objectMapper.readValue(offer.getSalaryStructure(), Map.class);
-
-                // 提取基本工资、奖金、股票等信息
-                BigDecimal baseSalary = getBigDecimalValue(salaryMap.get("base"));
-                BigDecimal bonus = getBigDecimalValue(salaryMap.get("bonus"));
-                BigDecimal stock = getBigDecimalValue(salaryMap.get("stock"));
-
-                // 计算总薪资
-                BigDecimal totalOfferSalary = baseSalary.add(bonus).add(stock);
-                if (totalOfferSalary.compareTo(BigDecimal.ZERO) > 0) {
-                    totalSalary = totalSalary.add(totalOfferSalary);
-                    validCount++;
-                }
-            } catch (JsonProcessingException e) {
-                log.error("Failed to parse salary structure: {}", offer.getSalaryStructure(), e);
+    private List<Statistics> buildStatistics(String statisticType, String dimension,
+                                             Map<String, SalaryAccumulator> accumulators,
+                                             int minCount, LocalDate statisticDate) {
+        List<Statistics> statisticsList = new ArrayList<>(accumulators.size());
+        for (Map.Entry<String, SalaryAccumulator> entry : accumulators.entrySet()) {
+            if (entry.getValue().getCount() >= minCount) {
+                statisticsList.add(buildStatistics(statisticType, dimension, entry.getKey(), entry.getValue(), statisticDate));
             }
         }
-
-        if (validCount > 0) {
-            return totalSalary.divide(BigDecimal.valueOf(validCount), 2, RoundingMode.HALF_UP);
-        } else {
-            return BigDecimal.ZERO;
-        }
+        return statisticsList;
     }
 
     /**
-     * 从对象中获取BigDecimal值
+     * 根据累加器构建一条统计记录
      *
-     * @param value 对象值
-     * @return BigDecimal值
+     * @param statisticType  统计类型
+     * @param dimension      统计维度
+     * @param dimensionValue 维度值
+     * @param accumulator    累加器
+     * @param statisticDate  统计日期
+     * @return 统计记录
      */
-    private BigDecimal getBigDecimalValue(Object value) {
-        if (value == null) {
-            return BigDecimal.ZERO;
-        }
+    private Statistics buildStatistics(String statisticType, String dimension, String dimensionValue,
+                                       SalaryAccumulator accumulator, LocalDate statisticDate) {
+        return Statistics.builder()
+                .statisticType(statisticType)
+                .dimension(dimension)
+                .dimensionValue(dimensionValue)
+                .statisticValue(accumulator.average())
+                .count(accumulator.getCount())
+                .valueSum(BigDecimal.valueOf(accumulator.getSumCents(), 2))
+                .valueCount(accumulator.getValidCount())
+                .statisticDate(statisticDate)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
 
-        if (value instanceof Number) {
-            return new BigDecimal(value.toString());
-        } else if (value instanceof String) {
-            try {
-                return new BigDecimal((String) value);
-            } catch (NumberFormatException e) {
-                return BigDecimal.ZERO;
-            }
+    /**
+     * 分批写入统计记录，已存在的记录被覆盖，任务重复执行或多实例同时执行时结果一致
+     *
+     * @param statisticsList 统计记录列表
+     */
+    private void upsertStatistics(List<Statistics> statisticsList) {
+        for (List<Statistics> chunk : BatchUtils.partition(statisticsList, upsertChunkSize)) {
+            statisticsRepository.upsertBatch(chunk);
         }
-
-        return BigDecimal.ZERO;
     }
 }
\ No newline at end of file
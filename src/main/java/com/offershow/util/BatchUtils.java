@@ -0,0 +1,30 @@
+package com.offershow.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批处理工具类
+ */
+public class BatchUtils {
+
+    /**
+     * 将列表按固定大小切分为若干批，返回的子列表是原列表的视图
+     *
+     * @param list      原列表
+     * @param batchSize 每批大小
+     * @param <T>       元素类型
+     * @return 分批后的列表
+     */
+    public static <T> List<List<T>> partition(List<T> list, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+
+        List<List<T>> batches = new ArrayList<>((list.size() + batchSize - 1) / batchSize);
+        for (int from = 0; from < list.size(); from += batchSize) {
+            batches.add(list.subList(from, Math.min(from + batchSize, list.size())));
+        }
+        return batches;
+    }
+}
@@ -3,8 +3,11 @@ package com.offershow.util;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Excel工具类
@@ -59,6 +62,25 @@ public class ExcelUtils {
         }
     }
 
+    /**
+     * 获取整行单元格的字符串值
+     *
+     * @param row Excel行
+     * @return 单元格值列表，下标为列号，缺失的单元格为 null
+     */
+    public static List<String> getRowValuesAsStrings(Row row) {
+        List<String> values = new ArrayList<>();
+        if (row == null) {
+            return values;
+        }
+
+        for (int i = 0; i < row.getLastCellNum(); i++) {
+            Cell cell = row.getCell(i);
+            values.add(cell == null ? null : getCellValueAsString(cell));
+        }
+        return values;
+    }
+
     /**
      * 获取单元格的日期值
      *
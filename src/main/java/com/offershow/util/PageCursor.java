@@ -0,0 +1,53 @@
+package com.offershow.util;
+
+import com.offershow.exception.BusinessException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 分页游标
+ * 记录上一页最后一条记录的 (创建时间, ID)，对客户端以不透明字符串的形式传递
+ */
+@Data
+@AllArgsConstructor
+public class PageCursor {
+    /**
+     * 创建时间
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * 主键ID
+     */
+    private Long id;
+
+    /**
+     * 编码为游标字符串
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @param cursor 游标字符串
+     * @return 分页游标
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("无效的分页游标: " + cursor);
+        }
+    }
+}
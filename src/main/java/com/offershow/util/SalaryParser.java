@@ -0,0 +1,217 @@
+package com.offershow.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.offershow.model.entity.SalaryStructure;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 薪资结构解析工具类
+ * 使用流式解析器和生成器直接读写薪资结构JSON的顶层字段，避免反序列化为 Map。
+ * base、bonus、stock 以外的顶层字段按原始JSON文本保留，写出时原样输出
+ */
+public class SalaryParser {
+
+    /**
+     * 没有薪资数据时的返回值
+     */
+    public static final long INVALID = -1L;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private SalaryParser() {
+    }
+
+    private static final String FIELD_BASE = "base";
+    private static final String FIELD_BONUS = "bonus";
+    private static final String FIELD_STOCK = "stock";
+
+    /**
+     * 解析数据库中的薪资结构JSON
+     * 金额与 offers 表生成列的规则一致：字段缺失、不是数字或JSON不是对象时按0处理；
+     * 不是数字的金额按原始JSON文本保留，重新写入时不会丢失
+     *
+     * @param salaryStructure 薪资结构JSON
+     * @return 薪资结构
+     */
+    public static SalaryStructure parse(String salaryStructure) {
+        try (JsonParser parser = JSON_FACTORY.createParser(salaryStructure)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new SalaryStructure();
+            }
+            return read(parser, false);
+        } catch (IOException e) {
+            return new SalaryStructure();
+        }
+    }
+
+    /**
+     * 从当前的对象起始位置读取薪资结构，读取完成后停在对象结束位置
+     * 顶层的 base、bonus、stock 字段转换为分，其余字段按原始JSON文本保留
+     *
+     * @param parser 位于 START_OBJECT 的解析器
+     * @param strict 是否校验金额：为true时金额不是数字或数字字符串则抛出异常 (接口和导入数据)，
+     *               为false时按0处理并保留原始值 (数据库中的历史数据)
+     * @return 薪资结构
+     * @throws IOException 解析失败或金额校验失败
+     */
+    public static SalaryStructure read(JsonParser parser, boolean strict) throws IOException {
+        SalaryStructure structure = new SalaryStructure();
+        Map<String, String> extraFields = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if (FIELD_BASE.equals(field) || FIELD_BONUS.equals(field) || FIELD_STOCK.equals(field)) {
+                Long cents = toCents(parser);
+                if (cents == null) {
+                    if (strict) {
+                        throw new JsonParseException(parser, "薪资结构字段 " + field + " 必须是数字");
+                    }
+                    extraFields.put(field, readRaw(parser));
+                    cents = 0L;
+                } else {
+                    extraFields.remove(field);
+                }
+                if (FIELD_BASE.equals(field)) {
+                    structure.setBaseCents(cents);
+                } else if (FIELD_BONUS.equals(field)) {
+                    structure.setBonusCents(cents);
+                } else {
+                    structure.setStockCents(cents);
+                }
+            } else {
+                extraFields.put(field, readRaw(parser));
+            }
+        }
+        if (!extraFields.isEmpty()) {
+            structure.setExtraFields(extraFields);
+        }
+        return structure;
+    }
+
+    /**
+     * 生成薪资结构JSON
+     *
+     * @param structure 薪资结构
+     * @return 薪资结构JSON
+     */
+    public static String toJson(SalaryStructure structure) {
+        StringWriter writer = new StringWriter(64);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            write(structure, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * 写出薪资结构，整数金额写为整数，否则保留两位小数；保留的其他字段按原始JSON文本写出
+     *
+     * @param structure 薪资结构
+     * @param generator 生成器
+     * @throws IOException 写出失败
+     */
+    public static void write(SalaryStructure structure, JsonGenerator generator) throws IOException {
+        Map<String, String> extraFields = structure.getExtraFields();
+        generator.writeStartObject();
+        writeAmount(generator, FIELD_BASE, structure.getBaseCents(), extraFields);
+        writeAmount(generator, FIELD_BONUS, structure.getBonusCents(), extraFields);
+        writeAmount(generator, FIELD_STOCK, structure.getStockCents(), extraFields);
+        if (extraFields != null) {
+            for (Map.Entry<String, String> entry : extraFields.entrySet()) {
+                if (!isAmountField(entry.getKey())) {
+                    generator.writeFieldName(entry.getKey());
+                    generator.writeRawValue(entry.getValue());
+                }
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeAmount(JsonGenerator generator, String field, long cents,
+                                    Map<String, String> extraFields) throws IOException {
+        generator.writeFieldName(field);
+        // 历史数据中不是数字的金额原样写回
+        if (extraFields != null && extraFields.containsKey(field)) {
+            generator.writeRawValue(extraFields.get(field));
+        } else if (cents % 100 == 0) {
+            generator.writeNumber(cents / 100);
+        } else {
+            generator.writeNumber(BigDecimal.valueOf(cents, 2));
+        }
+    }
+
+    /**
+     * 金额转换为分
+     *
+     * @param amount 金额
+     * @return 金额 (分)，为null时返回 {@link #INVALID}
+     */
+    public static long cents(BigDecimal amount) {
+        if (amount == null) {
+            return INVALID;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+    }
+
+    private static boolean isAmountField(String field) {
+        return FIELD_BASE.equals(field) || FIELD_BONUS.equals(field) || FIELD_STOCK.equals(field);
+    }
+
+    /**
+     * 读取当前数值并转换为分，不会移动解析器
+     *
+     * @param parser 解析器
+     * @return 金额 (分)，不是数字或数字字符串时返回null
+     * @throws IOException 解析失败
+     */
+    private static Long toCents(JsonParser parser) throws IOException {
+        BigDecimal amount;
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                amount = parser.getDecimalValue();
+                break;
+            case VALUE_STRING:
+                try {
+                    amount = new BigDecimal(parser.getText().trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+                break;
+            default:
+                return null;
+        }
+        try {
+            return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 把当前值 (包括对象和数组) 复制为JSON文本，读取完成后停在值的结束位置
+     *
+     * @param parser 解析器
+     * @return JSON文本
+     * @throws IOException 解析失败
+     */
+    private static String readRaw(JsonParser parser) throws IOException {
+        StringWriter writer = new StringWriter(32);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return writer.toString();
+    }
+}
\ No newline at end of file
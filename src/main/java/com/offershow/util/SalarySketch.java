@@ -0,0 +1,70 @@
+package com.offershow.util;
+
+import com.tdunning.math.stats.MergingDigest;
+import com.tdunning.math.stats.TDigest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+
+/**
+ * 薪资分位数草图工具类
+ * 基于 t-digest，草图体积与样本数无关且可以跨日期合并，用于近似计算薪资分位数
+ */
+public class SalarySketch {
+
+    private SalarySketch() {
+    }
+
+    /**
+     * 创建空草图
+     *
+     * @param compression 压缩参数，越大越精确、体积越大
+     * @return 草图
+     */
+    public static TDigest create(double compression) {
+        return new MergingDigest(compression);
+    }
+
+    /**
+     * 序列化草图
+     *
+     * @param digest 草图
+     * @return 字节数组，草图为空时返回null
+     */
+    public static byte[] toBytes(TDigest digest) {
+        if (digest == null || digest.size() == 0) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(digest.smallByteSize());
+        digest.asSmallBytes(buffer);
+        return buffer.array();
+    }
+
+    /**
+     * 反序列化草图
+     *
+     * @param bytes 字节数组
+     * @return 草图，字节数组为空时返回null
+     */
+    public static TDigest fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        return MergingDigest.fromBytes(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * 计算分位数
+     *
+     * @param digest   草图
+     * @param quantile 分位点 (0-1)
+     * @return 分位数，保留两位小数；草图为空时返回null
+     */
+    public static BigDecimal quantile(TDigest digest, double quantile) {
+        if (digest == null || digest.size() == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(digest.quantile(quantile)).setScale(2, RoundingMode.HALF_UP);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.offershow.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 检索分词工具类
+ * 中日韩字符生成单字和相邻二元组 (bigram)，其他字母数字按整词切分并统一小写
+ */
+public class SearchTokenizer {
+
+    /**
+     * 对文本分词，生成用于建立倒排索引的词项
+     *
+     * @param text 文本
+     * @return 去重后的词项集合
+     */
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        for (Run run : splitRuns(text)) {
+            if (!run.isCjk()) {
+                tokens.add(run.getText());
+                continue;
+            }
+
+            int[] codePoints = run.getText().codePoints().toArray();
+            for (int i = 0; i < codePoints.length; i++) {
+                tokens.add(new String(codePoints, i, 1));
+                if (i + 1 < codePoints.length) {
+                    tokens.add(new String(codePoints, i, 2));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * 对查询关键词分词
+     * 中日韩字符串按二元组精确匹配 (单字时按单字匹配)，其他词按前缀匹配
+     *
+     * @param keyword 关键词
+     * @return 查询词项列表，所有词项需同时命中
+     */
+    public static List<QueryTerm> tokenizeQuery(String keyword) {
+        List<QueryTerm> terms = new ArrayList<>();
+        if (keyword == null) {
+            return terms;
+        }
+
+        for (Run run : splitRuns(keyword)) {
+            if (!run.isCjk()) {
+                terms.add(new QueryTerm(run.getText(), true));
+                continue;
+            }
+
+            int[] codePoints = run.getText().codePoints().toArray();
+            if (codePoints.length == 1) {
+                terms.add(new QueryTerm(run.getText(), false));
+                continue;
+            }
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                terms.add(new QueryTerm(new String(codePoints, i, 2), false));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 将文本切分为连续的中日韩字符段和字母数字段，其余字符视为分隔符
+     *
+     * @param text 文本
+     * @return 字符段列表
+     */
+    private static List<Run> splitRuns(String text) {
+        List<Run> runs = new ArrayList<>();
+        String normalized = text.toLowerCase(Locale.ROOT);
+        StringBuilder current = new StringBuilder();
+        boolean currentCjk = false;
+
+        int i = 0;
+        while (i < normalized.length()) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (!Character.isLetterOrDigit(codePoint)) {
+                flushRun(runs, current, currentCjk);
+                continue;
+            }
+
+            boolean cjk = isCjk(codePoint);
+            if (current.length() > 0 && cjk != currentCjk) {
+                flushRun(runs, current, currentCjk);
+            }
+            current.appendCodePoint(codePoint);
+            currentCjk = cjk;
+        }
+        flushRun(runs, current, currentCjk);
+
+        return runs;
+    }
+
+    private static void flushRun(List<Run> runs, StringBuilder current, boolean cjk) {
+        if (current.length() > 0) {
+            runs.add(new Run(current.toString(), cjk));
+            current.setLength(0);
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 查询词项
+     */
+    @Data
+    @AllArgsConstructor
+    public static class QueryTerm {
+        /**
+         * 词项
+         */
+        private String term;
+
+        /**
+         * 是否按前缀匹配
+         */
+        private boolean prefix;
+    }
+
+    /**
+     * 同类字符组成的连续字符段
+     */
+    @Data
+    @AllArgsConstructor
+    private static class Run {
+        private String text;
+        private boolean cjk;
+    }
+}
@@ -0,0 +1,136 @@
+package com.offershow.util;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Excel流式读取工具类
+ * 基于 XSSFReader 和 SAX 事件模型逐行解析 xlsx 文件，内存占用与文件行数无关
+ */
+public class StreamingExcelReader {
+
+    /**
+     * 行处理器
+     */
+    public interface RowHandler {
+        /**
+         * 处理一行数据
+         *
+         * @param rowIndex 行号 (从0开始)
+         * @param cells    单元格值，下标为列号，缺失的单元格为 null；该列表在行之间复用，不可保留引用
+         */
+        void handleRow(int rowIndex, List<String> cells);
+    }
+
+    /**
+     * 逐行读取 xlsx 文件的第一个工作表，空行不会回调
+     *
+     * @param file    xlsx 文件
+     * @param handler 行处理器
+     */
+    public static void readFirstSheet(File file, RowHandler handler) throws IOException {
+        OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Failed to open xlsx package", e);
+        }
+
+        try {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader xmlReader = XMLHelper.newXMLReader();
+                xmlReader.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, sharedStrings, new RowCollector(handler), new DataFormatter(), false));
+                xmlReader.parse(new InputSource(sheet));
+            }
+        } catch (SAXException e) {
+            // 行处理器抛出的业务异常原样抛出
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException("Failed to parse xlsx sheet", e);
+        } catch (OpenXML4JException | ParserConfigurationException e) {
+            throw new IOException("Failed to read xlsx file", e);
+        } finally {
+            // 只读打开的包不能 close，否则会尝试保存
+            pkg.revert();
+        }
+    }
+
+    /**
+     * 将单元格事件汇总为按列号排列的行数据
+     */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final RowHandler handler;
+        private final List<String> cells = new ArrayList<>();
+        private int currentRow;
+        private int currentCol;
+
+        RowCollector(RowHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            currentRow = rowNum;
+            currentCol = -1;
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!cells.isEmpty()) {
+                handler.handleRow(currentRow, cells);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference != null ? new CellReference(cellReference).getCol() : currentCol + 1;
+            while (cells.size() < col) {
+                cells.add(null);
+            }
+            if (col < cells.size()) {
+                cells.set(col, formattedValue);
+            } else {
+                cells.add(formattedValue);
+            }
+            currentCol = col;
+        }
+
+        @Override
+        public void headerFooter(String text, boolean isHeader, String tagName) {
+            // 不处理页眉页脚
+        }
+    }
+}
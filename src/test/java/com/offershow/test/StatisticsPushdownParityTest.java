@@ -0,0 +1,195 @@
+package com.offershow.test;
+
+import com.offershow.model.entity.Offer;
+import com.offershow.model.entity.SalaryCubeCell;
+import com.offershow.model.entity.SalaryStructure;
+import com.offershow.model.entity.Statistics;
+import com.offershow.repository.OfferRepository;
+import com.offershow.repository.SalaryCubeRepository;
+import com.offershow.repository.StatisticsRepository;
+import com.offershow.task.StatisticsTaskScheduler;
+import com.offershow.task.StatisticsTaskScheduler.AggregationMode;
+import com.offershow.util.BatchUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 统计下推聚合与应用内聚合的一致性测试
+ * 在一个月内生成随机Offer (包含无效薪资、小数金额和已删除记录)，分别用两种聚合方式重算统计，比较写入的结果。
+ * 测试在事务内执行，结束后回滚
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.datasource.url=jdbc:mysql://localhost:3306/test_offer_show?useSSL=false&serverTimezone=UTC",
+                "spring.datasource.driverClassName=com.mysql.cj.jdbc.Driver",
+                "spring.datasource.username=root",  // 这里替换为你的数据库用户名
+                "spring.datasource.password=qa091923"  // 这里替换为你的数据库密码
+        }
+)
+@ActiveProfiles("test")
+@Transactional
+public class StatisticsPushdownParityTest {
+
+    private static final LocalDate MONTH_START = LocalDate.of(2001, 1, 1);
+    private static final LocalDate MONTH_END = LocalDate.of(2001, 1, 31);
+    private static final int OFFER_COUNT = 3000;
+
+    @Autowired
+    private StatisticsTaskScheduler statisticsTaskScheduler;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private StatisticsRepository statisticsRepository;
+
+    @Autowired
+    private SalaryCubeRepository salaryCubeRepository;
+
+    @BeforeEach
+    void generateOffers() {
+        Random random = new Random(20010131L);
+        List<Offer> offers = new ArrayList<>(OFFER_COUNT);
+        for (int i = 0; i < OFFER_COUNT; i++) {
+            LocalDateTime createdAt = MONTH_START.plusDays(random.nextInt(31))
+                    .atTime(random.nextInt(24), random.nextInt(60), random.nextInt(60));
+            // 约5%的记录没有有效薪资
+            SalaryStructure salary = random.nextInt(20) == 0
+                    ? new SalaryStructure()
+                    : SalaryStructure.builder()
+                    .baseCents(500_000 + random.nextInt(5_500_000))
+                    .bonusCents(random.nextInt(4) == 0 ? 0 : random.nextInt(20_000_000))
+                    .stockCents(random.nextInt(3) == 0 ? 0 : random.nextInt(30_000_000))
+                    .build();
+            offers.add(Offer.builder()
+                    .companyName("一致性公司" + random.nextInt(25))
+                    .position("一致性职位" + random.nextInt(12))
+                    .city("一致性城市" + random.nextInt(8))
+                    .salaryStructure(salary)
+                    .workYears(random.nextInt(13))
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build());
+        }
+        for (List<Offer> chunk : BatchUtils.partition(offers, 200)) {
+            offerRepository.batchInsert(chunk);
+        }
+
+        // 约3%的记录逻辑删除，两种方式都不应计入
+        List<Long> deletedIds = new ArrayList<>();
+        for (Offer offer : offers) {
+            if (random.nextInt(33) == 0) {
+                deletedIds.add(offer.getId());
+            }
+        }
+        offerRepository.softDeleteByIds(deletedIds, LocalDateTime.now());
+
+        // 周度、月度的应用内聚合基于每日部分聚合，先生成每天的统计
+        for (LocalDate date = MONTH_START; !date.isAfter(MONTH_END); date = date.plusDays(1)) {
+            statisticsTaskScheduler.recomputeDailyStatistics(date, AggregationMode.JAVA);
+        }
+    }
+
+    @Test
+    @DisplayName("每日统计和多维立方体单元一致")
+    void dailyStatisticsMatch() {
+        for (LocalDate date = MONTH_START; !date.isAfter(MONTH_END); date = date.plusDays(1)) {
+            statisticsTaskScheduler.recomputeDailyStatistics(date, AggregationMode.JAVA);
+            Map<String, String> javaStatistics = snapshotStatistics(date, "SALARY", "COMPANY", "POSITION", "CITY");
+            javaStatistics.putAll(snapshotStatistics(date, "TREND", "DAILY"));
+            Map<String, String> javaCells = snapshotCells(date);
+
+            statisticsTaskScheduler.recomputeDailyStatistics(date, AggregationMode.PUSHDOWN);
+            Map<String, String> pushdownStatistics = snapshotStatistics(date, "SALARY", "COMPANY", "POSITION", "CITY");
+            pushdownStatistics.putAll(snapshotStatistics(date, "TREND", "DAILY"));
+            Map<String, String> pushdownCells = snapshotCells(date);
+
+            assertFalse(javaStatistics.isEmpty(), "每日统计为空: " + date);
+            assertFalse(javaCells.isEmpty(), "立方体单元为空: " + date);
+            assertEquals(javaStatistics, pushdownStatistics, "每日统计不一致: " + date);
+            assertEquals(javaCells, pushdownCells, "立方体单元不一致: " + date);
+        }
+    }
+
+    @Test
+    @DisplayName("周度趋势统计一致")
+    void weeklyStatisticsMatch() {
+        for (LocalDate weekEnd = MONTH_START.plusDays(6); !weekEnd.isAfter(MONTH_END); weekEnd = weekEnd.plusDays(7)) {
+            statisticsTaskScheduler.recomputeWeeklyStatistics(weekEnd, AggregationMode.JAVA);
+            Map<String, String> javaStatistics = snapshotStatistics(weekEnd, "TREND", "WEEKLY", "WEEKLY_COMPANY");
+
+            statisticsTaskScheduler.recomputeWeeklyStatistics(weekEnd, AggregationMode.PUSHDOWN);
+            Map<String, String> pushdownStatistics = snapshotStatistics(weekEnd, "TREND", "WEEKLY", "WEEKLY_COMPANY");
+
+            assertFalse(javaStatistics.isEmpty(), "周度统计为空: " + weekEnd);
+            assertEquals(javaStatistics, pushdownStatistics, "周度统计不一致: " + weekEnd);
+        }
+    }
+
+    @Test
+    @DisplayName("月度趋势统计一致")
+    void monthlyStatisticsMatch() {
+        statisticsTaskScheduler.recomputeMonthlyStatistics(MONTH_END, AggregationMode.JAVA);
+        Map<String, String> javaStatistics = snapshotStatistics(MONTH_END, "TREND", "MONTHLY", "MONTHLY_COMPANY");
+
+        statisticsTaskScheduler.recomputeMonthlyStatistics(MONTH_END, AggregationMode.PUSHDOWN);
+        Map<String, String> pushdownStatistics = snapshotStatistics(MONTH_END, "TREND", "MONTHLY", "MONTHLY_COMPANY");
+
+        assertFalse(javaStatistics.isEmpty(), "月度统计为空");
+        assertEquals(javaStatistics, pushdownStatistics, "月度统计不一致");
+    }
+
+    /**
+     * 读取指定日期的统计记录 (不含分位数草图和创建时间)
+     */
+    private Map<String, String> snapshotStatistics(LocalDate date, String statisticType, String... dimensions) {
+        String dateStr = date.format(DateTimeFormatter.ISO_DATE);
+        Map<String, String> snapshot = new TreeMap<>();
+        for (String dimension : dimensions) {
+            for (Statistics statistics : statisticsRepository.findByTypeAndDimension(statisticType, dimension, dateStr, dateStr)) {
+                snapshot.put(statisticType + "|" + dimension + "|" + statistics.getDimensionValue(),
+                        plain(statistics.getStatisticValue()) + "|" + statistics.getCount() + "|"
+                                + plain(statistics.getValueSum()) + "|" + statistics.getValueCount());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 读取指定日期的立方体单元 (不含更新时间)
+     */
+    private Map<String, String> snapshotCells(LocalDate date) {
+        Map<String, String> snapshot = new TreeMap<>();
+        salaryCubeRepository.streamAll(context -> {
+            SalaryCubeCell cell = context.getResultObject();
+            if (date.equals(cell.getCellDate())) {
+                snapshot.put(cell.getCompanyName() + "|" + cell.getPosition() + "|" + cell.getCity() + "|" + cell.getWorkYearBand(),
+                        cell.getSampleCount() + "|" + cell.getValueSumCents() + "|" + cell.getValueCount() + "|"
+                                + cell.getMinCents() + "|" + cell.getMaxCents());
+            }
+        });
+        return snapshot;
+    }
+
+    private String plain(BigDecimal value) {
+        return value == null ? null : value.stripTrailingZeros().toPlainString();
+    }
+}
\ No newline at end of file